@@ -1,5 +1,6 @@
 package com.xeno.goo.aequivaleo;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.ldtteam.aequivaleo.api.IAequivaleoAPI;
@@ -12,8 +13,11 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.util.RegistryKey;
 import net.minecraft.world.World;
+import net.minecraftforge.registries.ForgeRegistries;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class Equivalencies
@@ -59,19 +63,71 @@ public class Equivalencies
         return IAequivaleoAPI.getInstance().getResultsInformationCache(world.func_234923_W_());
     }
 
+    // read-only item -> entry snapshot per dimension, rebuilt whenever aequivaleo reloads its data.
+    // each snapshot is built off to the side and swapped in whole, so lookups never see one half built.
+    private static final Map<RegistryKey<World>, Map<Item, GooEntry>> entries = new ConcurrentHashMap<>();
+
+    // items that melt down into something, by item id, so insertion checks are a single bit test.
+    private static final Map<RegistryKey<World>, BitSet> meltable = new ConcurrentHashMap<>();
+
+    // bumped on every reload, so anything compiled from an entry can tell when it's gone stale.
+    // dimensions can reload from different threads, so the bump has to be atomic.
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    public static int generation()
+    {
+        return generation.get();
+    }
+
+    // depends on the furnace and locked products, so those have to be reset first.
+    public static void resetEntries(World world) {
+        IResultsInformationCache cache = cache(world);
+        ImmutableMap.Builder<Item, GooEntry> snapshot = ImmutableMap.builder();
+        BitSet meltableItems = new BitSet();
+        for (Item item : ForgeRegistries.ITEMS) {
+            GooEntry entry = new GooEntry(world, item, cache.getFor(item));
+            snapshot.put(item, entry);
+            if (!entry.isUnusable()) {
+                meltableItems.set(Item.getIdFromItem(item));
+            }
+        }
+        entries.put(world.func_234923_W_(), snapshot.build());
+        meltable.put(world.func_234923_W_(), meltableItems);
+        generation.incrementAndGet();
+    }
+
+    public static boolean isMeltable(World world, Item item)
+    {
+        BitSet meltableItems = meltable.get(world.func_234923_W_());
+        if (meltableItems == null) {
+            return !getEntry(world, item).isUnusable();
+        }
+        return meltableItems.get(Item.getIdFromItem(item));
+    }
+
     public static GooEntry getEntry(World entityWorld, Item item)
     {
+        Map<Item, GooEntry> snapshot = entries.get(entityWorld.func_234923_W_());
+        if (snapshot != null) {
+            GooEntry entry = snapshot.get(item);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        // no snapshot yet for this world, work it out the slow way.
         Set<ICompoundInstance> results = cache(entityWorld).getFor(item);
         return new GooEntry(entityWorld, item, results);
     }
 
     public static boolean isLocked(World world, Item item)
     {
-        return lockedProducts.containsKey(world.func_234923_W_()) && lockedProducts.get(world.func_234923_W_()).stream().anyMatch(p -> p.equals(item));
+        Set<Item> locked = lockedProducts.get(world.func_234923_W_());
+        return locked != null && locked.contains(item);
     }
 
     public static boolean isSmelted(World world, Item item)
     {
-        return furnaceProducts.containsKey(world.func_234923_W_()) && furnaceProducts.get(world.func_234923_W_()).stream().anyMatch(p -> p.asItem().equals(item));
+        Set<Item> smelted = furnaceProducts.get(world.func_234923_W_());
+        return smelted != null && smelted.contains(item);
     }
 }
@@ -0,0 +1,125 @@
+package com.xeno.goo.aequivaleo;
+
+import com.xeno.goo.setup.Registry;
+
+/**
+ * How much of each goo something is made of, indexed by goo ordinal, in fixed point millionths of a
+ * millibucket. Fractional values add, subtract and scale exactly, and all of the arithmetic happens in place
+ * so a composition can be reused as scratch space without allocating anything.
+ */
+public class GooComposition
+{
+    public static final long MICROS_PER_MB = 1_000_000L;
+
+    private final long[] micros;
+
+    public GooComposition()
+    {
+        this.micros = new long[Registry.GOO_FLUID_COUNT];
+    }
+
+    public GooComposition(GooComposition other)
+    {
+        this.micros = other.micros.clone();
+    }
+
+    public static long toMicros(double millibuckets)
+    {
+        return Math.round(millibuckets * MICROS_PER_MB);
+    }
+
+    public static double toMillibuckets(long micros)
+    {
+        return micros / (double) MICROS_PER_MB;
+    }
+
+    public int size()
+    {
+        return micros.length;
+    }
+
+    public long micros(int ordinal)
+    {
+        return micros[ordinal];
+    }
+
+    public double amount(int ordinal)
+    {
+        return toMillibuckets(micros[ordinal]);
+    }
+
+    public void set(int ordinal, long amount)
+    {
+        micros[ordinal] = amount;
+    }
+
+    public GooComposition add(GooComposition other)
+    {
+        for (int i = 0; i < micros.length; i++) {
+            micros[i] += other.micros[i];
+        }
+        return this;
+    }
+
+    public GooComposition subtract(GooComposition other)
+    {
+        for (int i = 0; i < micros.length; i++) {
+            micros[i] -= other.micros[i];
+        }
+        return this;
+    }
+
+    public GooComposition scale(int factor)
+    {
+        for (int i = 0; i < micros.length; i++) {
+            micros[i] *= factor;
+        }
+        return this;
+    }
+
+    // returns false if anything didn't divide evenly, in which case it's been truncated to the nearest micro-mB.
+    public boolean divide(int divisor)
+    {
+        boolean isExact = true;
+        for (int i = 0; i < micros.length; i++) {
+            isExact &= micros[i] % divisor == 0;
+            micros[i] /= divisor;
+        }
+        return isExact;
+    }
+
+    public boolean isEmpty()
+    {
+        for (long amount : micros) {
+            if (amount != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isNegative()
+    {
+        for (long amount : micros) {
+            if (amount < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long weight()
+    {
+        long weight = 0;
+        for (long amount : micros) {
+            weight += amount;
+        }
+        return weight;
+    }
+
+    // lighter compositions win, same as GooEntry
+    public boolean isStrongerThan(GooComposition competitor)
+    {
+        return weight() < competitor.weight();
+    }
+}
@@ -3,6 +3,7 @@ package com.xeno.goo.aequivaleo;
 import com.ldtteam.aequivaleo.api.compound.ICompoundInstance;
 import com.xeno.goo.GooMod;
 import com.xeno.goo.aequivaleo.compound.GooCompoundType;
+import com.xeno.goo.fluids.GooFluidIndex;
 import com.xeno.goo.library.Compare;
 import com.xeno.goo.setup.Registry;
 import net.minecraft.item.Item;
@@ -26,53 +27,46 @@ public class GooEntry
     private static final String CANNOT_SOLIDIFY_TRANSLATION_KEY = "tooltip.goo.cannot_solidify";
     private static final String CANNOT_GOO_TRANSLATION_KEY = "tooltip.goo.cannot_goo";
 
+    // the real amounts; values() is a list view of them built the first time someone asks.
+    private final GooComposition composition;
     private List<GooValue> values;
     private boolean isDenied;
     private boolean isUnknown;
     private boolean isFixed;
-    private boolean isAttainable;
+    private final boolean isAttainable;
 
     public GooEntry(List<GooValue> gooValues) {
-        this.values = gooValues;
+        this.composition = compositionOf(gooValues);
         this.isDenied = false;
         this.isUnknown = false;
         this.isFixed = true;
         this.isAttainable = true;
-        pruneEmptyValues();
-        sortValues();
     }
 
     public GooEntry(boolean isAttainable, List<GooValue> gooValues) {
-        this.values = gooValues;
+        this.composition = compositionOf(gooValues);
         this.isDenied = false;
         this.isUnknown = false;
         this.isFixed = false;
         this.isAttainable = isAttainable;
-        pruneEmptyValues();
-        sortValues();
     }
 
     public GooEntry(boolean isAttainable, GooValue... adding) {
-        this.values = Arrays.asList(adding);
-        this.isDenied = false;
-        this.isUnknown = false;
-        this.isFixed = false;
-        this.isAttainable = isAttainable;
-        pruneEmptyValues();
-        sortValues();
+        this(isAttainable, Arrays.asList(adding));
     }
 
     public GooEntry(boolean isDenied, boolean isUnknown, boolean isAttainable) {
-        this.values = new ArrayList<>();
+        this.composition = new GooComposition();
         this.isDenied = isDenied;
         this.isUnknown = isUnknown;
         this.isAttainable = isAttainable;
         this.isFixed = false;
-        pruneEmptyValues();
     }
 
     public GooEntry(GooEntry gooEntry)
     {
+        // compositions are never changed once an entry owns them, so sharing one is safe.
+        this.composition = gooEntry.composition;
         this.values = gooEntry.values;
         this.isDenied = gooEntry.isDenied;
         this.isUnknown = gooEntry.isUnknown;
@@ -88,33 +82,68 @@ public class GooEntry
         this.isUnknown = compounds.size() == 0;
         this.isAttainable = Equivalencies.isLocked(world, item) || !Equivalencies.isSmelted(world, item);
         this.isFixed = Equivalencies.isLocked(world, item);
+        this.composition = new GooComposition();
         if (isValid) {
-            this.values = compounds.stream().map(c -> new GooValue(Objects.requireNonNull(((GooCompoundType) c.getType()).fluidSupplier.get().getRegistryName()).toString(), c.getAmount())).collect(Collectors.toList());
-        } else {
-            this.values = new ArrayList<>();
+            for (ICompoundInstance c : compounds) {
+                if (!(c.getType() instanceof GooCompoundType)) {
+                    continue;
+                }
+                int ordinal = Registry.gooOrdinal(((GooCompoundType) c.getType()).fluidSupplier.get());
+                if (ordinal < 0) {
+                    continue;
+                }
+                composition.set(ordinal, composition.micros(ordinal) + GooComposition.toMicros(c.getAmount()));
+            }
         }
     }
 
-    private void pruneEmptyValues() {
-        values.removeIf(v -> v.amount() == 0);
+    private GooEntry(boolean isAttainable, GooComposition composition) {
+        this.composition = composition;
+        this.isDenied = false;
+        this.isUnknown = false;
+        this.isFixed = false;
+        this.isAttainable = isAttainable;
     }
 
-    private void sortValues()
-    {
-        values.sort(Compare.valueWeightComparator.reversed());
+    private static GooComposition compositionOf(List<GooValue> gooValues) {
+        GooComposition result = new GooComposition();
+        for (GooValue v : gooValues) {
+            int ordinal = GooFluidIndex.ordinal(v.getFluidResourceLocation());
+            if (ordinal < 0) {
+                continue;
+            }
+            result.set(ordinal, result.micros(ordinal) + GooComposition.toMicros(v.amount()));
+        }
+        return result;
     }
 
     public boolean isDenied() { return this.isDenied; }
 
     public boolean isUnknown() { return this.isUnknown; }
 
-    public boolean isEmpty() { return this.values.size() == 0; }
+    public boolean isEmpty() { return this.composition.isEmpty(); }
 
     public boolean isFixed() {return this.isFixed; }
 
-    public List<GooValue> values() { return this.values; }
+    // read only, the caller must not change it
+    public GooComposition composition() { return this.composition; }
 
-    public double weight() { return values.stream().map(GooValue::amount).reduce(0d, Double::sum); }
+    public List<GooValue> values() {
+        if (values == null) {
+            List<GooValue> result = new ArrayList<>();
+            for (int i = 0; i < composition.size(); i++) {
+                if (composition.micros(i) == 0) {
+                    continue;
+                }
+                result.add(new GooValue(GooFluidIndex.name(i), composition.amount(i)));
+            }
+            result.sort(Compare.valueWeightComparator.reversed());
+            values = Collections.unmodifiableList(result);
+        }
+        return this.values;
+    }
+
+    public double weight() { return GooComposition.toMillibuckets(composition.weight()); }
 
     /**
      * @param competitor The mapping being compared to "this" instance.
@@ -124,7 +153,7 @@ public class GooEntry
         return !this.isDenied() && !this.isEmpty() && !this.isUnknown() &&
                 // truncation caused weird values.
                 //(Helper.truncateValue(weight()) < Helper.truncateValue(competitor.weight()) || competitor.isDenied() && competitor.isEmpty() && competitor.isUnknown());
-        (weight() < competitor.weight() || competitor.isDenied() && competitor.isEmpty() && competitor.isUnknown());
+        (composition.isStrongerThan(competitor.composition) || competitor.isDenied() && competitor.isEmpty() && competitor.isUnknown());
     }
 
     public boolean isUnusable() {
@@ -144,31 +173,18 @@ public class GooEntry
         if (this.isDenied() || combining.isDenied()) {
             return DENIED;
         }
-        Map<String, Double> product = new HashMap<>();
-        for(GooValue v : this.values()) {
-            if (product.containsKey(v.getFluidResourceLocation())) {
-                product.put(v.getFluidResourceLocation(), product.get(v.getFluidResourceLocation()) + v.amount());
-            } else {
-                product.put(v.getFluidResourceLocation(), v.amount());
-            }
-        }
-
-        // clone the goo values from this object.
-        for (GooValue v : combining.values()) {
-            if (product.containsKey(v.getFluidResourceLocation())) {
-                product.put(v.getFluidResourceLocation(), product.get(v.getFluidResourceLocation()) + (v.amount() * (isSubtracting ? -1 : 1)));
-            } else {
-                product.put(v.getFluidResourceLocation(), v.amount() * (isSubtracting ? -1 : 1));
-            }
+        GooComposition product = new GooComposition(composition);
+        if (isSubtracting) {
+            product.subtract(combining.composition);
+        } else {
+            product.add(combining.composition);
         }
 
         // values can't be negative, that makes less than zero sense (lol)
-        for (Double v : product.values()) {
-            if (v < 0) {
-                return UNKNOWN;
-            }
+        if (product.isNegative()) {
+            return UNKNOWN;
         }
-        return createFromPrimitiveGooMap(this.isAttainable && combining.isAttainable, product);
+        return new GooEntry(this.isAttainable && combining.isAttainable, product);
     }
 
     public GooEntry add(GooEntry adding) {
@@ -190,11 +206,7 @@ public class GooEntry
         if (this.isDenied()) {
             return DENIED;
         }
-        Map<String, Double> product = new HashMap<>();
-        for(GooValue v : this.values()) {
-            product.put(v.getFluidResourceLocation(), EntryHelper.round(v.amount() * i, 5));
-        }
-        return createFromPrimitiveGooMap(this.isAttainable, product);
+        return new GooEntry(this.isAttainable, new GooComposition(composition).scale(i));
     }
 
     public GooEntry divide(String hint, int i) {
@@ -202,20 +214,12 @@ public class GooEntry
         if (i == 0) {
             return UNKNOWN;
         }
-        Map<String, Double> product = new HashMap<>();
-        for (GooValue v : this.values()) {
-            if (v.amount() / i != EntryHelper.round(v.amount() / i, 5)) {
-                GooMod.warn("Ugly division happening... hint: " + hint);
-            }
-            product.put(v.getFluidResourceLocation(), EntryHelper.round(v.amount() / i, 5));
+        GooComposition product = new GooComposition(composition);
+        // fixed point only loses anything below a millionth of a mB, so this should be rare now.
+        if (!product.divide(i)) {
+            GooMod.warn("Ugly division happening... hint: " + hint);
         }
-        return createFromPrimitiveGooMap(this.isAttainable, product);
-    }
-
-    // utility method for quickly
-    private static GooEntry createFromPrimitiveGooMap(boolean isAttainable, Map<String, Double> product) {
-        List<GooValue> values = product.entrySet().stream().map(kv -> new GooValue(kv.getKey(), kv.getValue())).collect(Collectors.toList());
-        return new GooEntry(isAttainable, values);
+        return new GooEntry(this.isAttainable, product);
     }
 
     public void translateToTooltip(List<ITextComponent> toolTip)
@@ -234,11 +238,11 @@ public class GooEntry
         int displayIndex = 0;
         IFormattableTextComponent fluidAmount = null;
         // struggling with values sorting stupidly. Trying to do fix sort by doing this:
-        List<GooValue> sortedValues = values.stream().sorted(Compare.valueWeightComparator.reversed().thenComparing(Compare.gooNameComparator)).collect(Collectors.toList());
+        List<GooValue> sortedValues = values().stream().sorted(Compare.valueWeightComparator.reversed().thenComparing(Compare.gooNameComparator)).collect(Collectors.toList());
         for(GooValue v : sortedValues) {
             index++;
             String decimalValue = " " + NumberFormat.getNumberInstance(Locale.ROOT).format(v.amount()) + " mB";
-            String fluidTranslationKey = Registry.getFluidTranslationKey(v.getFluidResourceLocation());
+            String fluidTranslationKey = GooFluidIndex.translationKey(v.getFluidResourceLocation());
             if (fluidTranslationKey == null) {
                 continue;
             }
@@ -257,12 +261,7 @@ public class GooEntry
     }
 
     public String toString() {
-        return this.values.stream().map(v -> v.getFluidResourceLocation() + " " + v.amount() + "mB").collect(Collectors.joining(", "));
-    }
-
-    public void makeUnattainable()
-    {
-        this.isAttainable = false;
+        return values().stream().map(v -> v.getFluidResourceLocation() + " " + v.amount() + "mB").collect(Collectors.joining(", "));
     }
 
     public GooEntry copy()
@@ -12,7 +12,6 @@ import net.minecraft.item.BlockItemUseContext;
 import net.minecraft.item.ItemStack;
 import net.minecraft.particles.ParticleTypes;
 import net.minecraft.state.StateContainer;
-import net.minecraft.state.properties.BlockStateProperties;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.Direction;
 import net.minecraft.util.SoundCategory;
@@ -20,6 +19,7 @@ import net.minecraft.util.SoundEvents;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.world.IBlockReader;
+import net.minecraft.world.IWorldReader;
 import net.minecraft.world.World;
 import java.util.List;
 import java.util.Random;
@@ -33,15 +33,10 @@ public class Gooifier extends Block {
                 .hardnessAndResistance(4.0f));
     }
 
-    @Override
-    public int getLightValue(BlockState state, IBlockReader world, BlockPos pos)
-    {
-        return state.get(BlockStateProperties.POWERED) ? 12 : 0;
-    }
-
     public void animateTick(BlockState stateIn, World worldIn, BlockPos pos, Random rand)
     {
-        if (stateIn.get(BlockStateProperties.POWERED)) {
+        TileEntity te = worldIn.getTileEntity(pos);
+        if (te instanceof GooifierTile && ((GooifierTile) te).isActive()) {
             double d0 = (double) pos.getX() + 0.5D;
             double d1 = (double) pos.getY();
             double d2 = (double) pos.getZ() + 0.5D;
@@ -61,6 +56,28 @@ public class Gooifier extends Block {
         }
     }
 
+    @SuppressWarnings("deprecation")
+    @Override
+    public void neighborChanged(BlockState state, World worldIn, BlockPos pos, Block blockIn, BlockPos fromPos, boolean isMoving)
+    {
+        super.neighborChanged(state, worldIn, pos, blockIn, fromPos, isMoving);
+        TileEntity te = worldIn.getTileEntity(pos);
+        if (te instanceof GooifierTile) {
+            ((GooifierTile) te).onNeighborChange(fromPos);
+        }
+    }
+
+    // fires when a tile next to us is placed or removed, which a plain neighbour update doesn't always cover.
+    @Override
+    public void onNeighborChange(BlockState state, IWorldReader world, BlockPos pos, BlockPos neighbor)
+    {
+        super.onNeighborChange(state, world, pos, neighbor);
+        TileEntity te = world.getTileEntity(pos);
+        if (te instanceof GooifierTile) {
+            ((GooifierTile) te).onNeighborChange(neighbor);
+        }
+    }
+
     @Override
     public boolean hasTileEntity(BlockState state) {
         return true;
@@ -74,13 +91,12 @@ public class Gooifier extends Block {
     @Override
     public BlockState getStateForPlacement(BlockItemUseContext context) {
         return getDefaultState()
-                .with(BlockStateProperties.POWERED, false)
                 .with(HORIZONTAL_FACING, context.getPlacementHorizontalFacing().getOpposite());
     }
 
     @Override
     protected void fillStateContainer(StateContainer.Builder<Block, BlockState> builder) {
-        builder.add(HORIZONTAL_FACING, BlockStateProperties.POWERED);
+        builder.add(HORIZONTAL_FACING);
     }
 
     @Override
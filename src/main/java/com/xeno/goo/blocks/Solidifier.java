@@ -21,6 +21,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockRayTraceResult;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.world.IBlockReader;
+import net.minecraft.world.IWorldReader;
 import net.minecraft.world.World;
 import java.util.List;
 
@@ -32,16 +33,32 @@ public class Solidifier extends Block {
     }
 
     @Override
-    public int getLightValue(BlockState state, IBlockReader world, BlockPos pos)
+    public void addInformation(ItemStack stack, IBlockReader worldIn, List<ITextComponent> tooltip, ITooltipFlag flagIn)
     {
-        return state.get(BlockStateProperties.POWERED) ? 15 : 0;
+        super.addInformation(stack, worldIn, tooltip, flagIn);
+        SolidifierTile.addInformation(stack, tooltip);
     }
 
+    @SuppressWarnings("deprecation")
     @Override
-    public void addInformation(ItemStack stack, IBlockReader worldIn, List<ITextComponent> tooltip, ITooltipFlag flagIn)
+    public void neighborChanged(BlockState state, World worldIn, BlockPos pos, Block blockIn, BlockPos fromPos, boolean isMoving)
     {
-        super.addInformation(stack, worldIn, tooltip, flagIn);
-        SolidifierTile.addInformation(stack, tooltip);
+        super.neighborChanged(state, worldIn, pos, blockIn, fromPos, isMoving);
+        TileEntity te = worldIn.getTileEntity(pos);
+        if (te instanceof SolidifierTile) {
+            ((SolidifierTile) te).onNeighborChange(fromPos);
+        }
+    }
+
+    // fires when a tile next to us is placed or removed, which a plain neighbour update doesn't always cover.
+    @Override
+    public void onNeighborChange(BlockState state, IWorldReader world, BlockPos pos, BlockPos neighbor)
+    {
+        super.onNeighborChange(state, world, pos, neighbor);
+        TileEntity te = world.getTileEntity(pos);
+        if (te instanceof SolidifierTile) {
+            ((SolidifierTile) te).onNeighborChange(neighbor);
+        }
     }
 
     @Override
@@ -57,13 +74,12 @@ public class Solidifier extends Block {
     @Override
     public BlockState getStateForPlacement(BlockItemUseContext context) {
         return getDefaultState()
-                .with(BlockStateProperties.POWERED, false)
                 .with(BlockStateProperties.HORIZONTAL_FACING, context.getPlacementHorizontalFacing().getOpposite());
     }
 
     @Override
     protected void fillStateContainer(StateContainer.Builder<Block, BlockState> builder) {
-        builder.add(BlockStateProperties.HORIZONTAL_FACING, BlockStateProperties.POWERED);
+        builder.add(BlockStateProperties.HORIZONTAL_FACING);
     }
 
     @Override
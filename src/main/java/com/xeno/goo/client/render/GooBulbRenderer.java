@@ -42,9 +42,14 @@ public class GooBulbRenderer extends TileEntityRenderer<GooBulbTile> {
         float minY = from.getY();
         float maxY = to.getY();
         float highestToY = minY;
-        for(FluidStack goo : tile.goo()) {
+        for(int i = 0; i < Registry.GOO_FLUID_COUNT; i++) {
+            int amount = tile.amount(i);
+            if (amount == 0) {
+                continue;
+            }
+            FluidStack goo = new FluidStack(Registry.gooFluid(i), amount);
             // this is the total fill of the goo in the tank of this particular goo, as a percentage
-            float percentage = goo.getAmount() / totalGoo;
+            float percentage = amount / totalGoo;
             float heightScale = percentage * scaledHeight;
             float height = (maxY - minY) * heightScale;
             float fromY, toY;
@@ -55,6 +60,9 @@ public class GooBulbRenderer extends TileEntityRenderer<GooBulbTile> {
             yOffset += height;
         }
 
+        if (tile.getWorld() != null) {
+            tile.decayVerticalFillVisuals(tile.getWorld().getGameTime());
+        }
         Vector3f verticalFillFrom = verticalFillFromVector(tile.verticalFillIntensity()), verticalFillTo = verticalFillToVector(tile.verticalFillIntensity());
         if (tile.isVerticallyFilled()) {
             FluidCuboidHelper.renderScaledFluidCuboid(tile.verticalFillFluid(), matrixStack, builder, combinedLightIn, verticalFillFrom.getX(), highestToY, verticalFillFrom.getZ(), verticalFillTo.getX(), maxY, verticalFillTo.getZ());
@@ -0,0 +1,30 @@
+package com.xeno.goo.client.render;
+
+import com.mojang.blaze3d.matrix.MatrixStack;
+import com.xeno.goo.setup.Registry;
+import com.xeno.goo.tiles.GooifierTile;
+import net.minecraft.client.renderer.IRenderTypeBuffer;
+import net.minecraft.client.renderer.tileentity.TileEntityRenderer;
+import net.minecraft.client.renderer.tileentity.TileEntityRendererDispatcher;
+import net.minecraftforge.fml.client.registry.ClientRegistry;
+
+public class GooifierTileRenderer extends TileEntityRenderer<GooifierTile>
+{
+    public GooifierTileRenderer(TileEntityRendererDispatcher rendererDispatcherIn)
+    {
+        super(rendererDispatcherIn);
+    }
+
+    public static void register() {
+        ClientRegistry.bindTileEntityRenderer(Registry.GOOIFIER_TILE.get(), GooifierTileRenderer::new);
+    }
+
+    @Override
+    public void render(GooifierTile tile, float partialTicks, MatrixStack matrices, IRenderTypeBuffer buffer, int light, int overlay)
+    {
+        if (tile.getWorld() == null || !tile.isActive()) {
+            return;
+        }
+        MachineActivityRenderer.render(MachineActivityRenderer.GOOIFIER_ACTIVE, tile.getBlockState(), tile.getHorizontalFacing(), matrices, buffer, overlay);
+    }
+}
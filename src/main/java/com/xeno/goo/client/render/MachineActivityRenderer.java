@@ -0,0 +1,49 @@
+package com.xeno.goo.client.render;
+
+import com.mojang.blaze3d.matrix.MatrixStack;
+import com.xeno.goo.GooMod;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.IRenderTypeBuffer;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.model.IBakedModel;
+import net.minecraft.util.Direction;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.vector.Vector3f;
+import net.minecraftforge.client.model.ModelLoader;
+import net.minecraftforge.client.model.data.EmptyModelData;
+
+/**
+ * Draws a machine's lit up model over its block at full brightness while it's working. The block state and
+ * baked chunk never change, so a machine turning on and off doesn't re-mesh anything or touch the light engine.
+ */
+public class MachineActivityRenderer
+{
+    public static final ResourceLocation GOOIFIER_ACTIVE = new ResourceLocation(GooMod.MOD_ID, "block/gooifier_powered");
+    public static final ResourceLocation SOLIDIFIER_ACTIVE = new ResourceLocation(GooMod.MOD_ID, "block/solidifier_powered");
+
+    private static final int FULL_BRIGHT = LightTexture.packLight(15, 15);
+
+    // the lit models aren't referenced by any blockstate anymore, so they have to be asked for.
+    public static void registerModels()
+    {
+        ModelLoader.addSpecialModel(GOOIFIER_ACTIVE);
+        ModelLoader.addSpecialModel(SOLIDIFIER_ACTIVE);
+    }
+
+    public static void render(ResourceLocation modelLocation, BlockState state, Direction facing, MatrixStack matrices, IRenderTypeBuffer buffer, int overlay)
+    {
+        IBakedModel model = Minecraft.getInstance().getModelManager().getModel(modelLocation);
+        matrices.push();
+        matrices.translate(0.5D, 0.5D, 0.5D);
+        // same turn the blockstate gives the unlit model
+        matrices.rotate(Vector3f.YP.rotationDegrees(-(facing.getHorizontalAngle() + 180F)));
+        // pushed out a hair so it wins the depth test against the block faces underneath
+        matrices.scale(1.002F, 1.002F, 1.002F);
+        matrices.translate(-0.5D, -0.5D, -0.5D);
+        Minecraft.getInstance().getBlockRendererDispatcher().getBlockModelRenderer().renderModel(matrices.getLast(),
+                buffer.getBuffer(RenderType.getSolid()), state, model, 1F, 1F, 1F, FULL_BRIGHT, overlay, EmptyModelData.INSTANCE);
+        matrices.pop();
+    }
+}
@@ -35,6 +35,10 @@ public class SolidifierTileRenderer extends TileEntityRenderer<SolidifierTile>
             return;
         }
 
+        if (tile.isActive()) {
+            MachineActivityRenderer.render(MachineActivityRenderer.SOLIDIFIER_ACTIVE, tile.getBlockState(), tile.getHorizontalFacing(), matrices, buffer, overlay);
+        }
+
         // one function of the solidifier is a safety mechanism to prevent accidentally changing the item.
         // when you attempt to change it, you get a flashing indication that you're trying to alter the target
         // which you must then confirm. this is achieved by checking the tile change timer is nonzero, abstracted into shouldFlash()
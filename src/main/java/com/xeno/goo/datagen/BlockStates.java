@@ -7,7 +7,6 @@ import net.minecraft.block.BlockState;
 import net.minecraft.block.FlowingFluidBlock;
 import net.minecraft.block.RotatedPillarBlock;
 import net.minecraft.data.DataGenerator;
-import net.minecraft.state.properties.BlockStateProperties;
 import net.minecraft.util.Direction;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.client.model.generators.*;
@@ -61,10 +60,10 @@ public class BlockStates extends BlockStateProvider {
         BlockModelBuilder model = models()
                 .cube("gooifier", bottom, top, front_off, back, side, side)
                 .texture("particle", front_off);
-        BlockModelBuilder modelActive = models()
-                .cube("gooifier_powered", bottom, top, front_on, back, side, side)
+        // not part of the blockstate, the renderer draws it over the block while the machine is working
+        models().cube("gooifier_powered", bottom, top, front_on, back, side, side)
                 .texture("particle", front_on);
-        horizontalBlock(Registry.GOOIFIER.get(), state -> state.get(BlockStateProperties.POWERED) ? modelActive : model);
+        horizontalBlock(Registry.GOOIFIER.get(), model);
         simpleBlockItem(Registry.GOOIFIER.get(), model);
     }
 
@@ -81,10 +80,9 @@ public class BlockStates extends BlockStateProvider {
         BlockModelBuilder model = models()
                 .cube("solidifier", bottom, top_off, front_off, back_off, side_off, side_off)
                 .texture("particle", front_off);
-        BlockModelBuilder modelActive = models()
-                .cube("solidifier_powered", bottom, top_on, front_on, back_on, side_on, side_on)
+        models().cube("solidifier_powered", bottom, top_on, front_on, back_on, side_on, side_on)
                 .texture("particle", front_on);
-        horizontalBlock(Registry.SOLIDIFIER.get(), state -> state.get(BlockStateProperties.POWERED) ? modelActive : model);
+        horizontalBlock(Registry.SOLIDIFIER.get(), model);
         simpleBlockItem(Registry.SOLIDIFIER.get(), model);
     }
 }
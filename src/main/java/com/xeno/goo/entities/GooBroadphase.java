@@ -0,0 +1,88 @@
+package com.xeno.goo.entities;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.SectionPos;
+import net.minecraft.world.World;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Candidate entities for goo collision tests, hashed by 16 block cell and rebuilt every tick. The first blob
+ * to ask about a cell in a tick pays for one world query, every other blob asking about the same cell that
+ * tick gets the same list back, so a volley of blobs costs one query per cell it passes through instead of
+ * two per blob. Server side only; clients go straight to the world.
+ */
+public class GooBroadphase
+{
+    private static final Map<RegistryKey<World>, GooBroadphase> broadphases = new HashMap<>();
+
+    // entities can move a little after their cell is hashed in the same tick, so cells overlap by this much.
+    private static final double CELL_MARGIN = 2.0d;
+
+    public static void unload(World world)
+    {
+        broadphases.remove(world.func_234923_W_());
+    }
+
+    // the cells are only good for the tick they were built in, and holding them any longer keeps dead entities
+    // and their worlds reachable.
+    public static void endTick(World world)
+    {
+        GooBroadphase broadphase = broadphases.get(world.func_234923_W_());
+        if (broadphase != null) {
+            broadphase.cells.clear();
+        }
+    }
+
+    public static List<Entity> query(World world, Entity except, AxisAlignedBB box, Predicate<Entity> filter)
+    {
+        if (world.isRemote()) {
+            return world.getEntitiesInAABBexcluding(except, box, filter);
+        }
+        return broadphases.computeIfAbsent(world.func_234923_W_(), k -> new GooBroadphase()).find(world, except, box, filter);
+    }
+
+    private final Map<Long, List<Entity>> cells = new HashMap<>();
+
+    private List<Entity> find(World world, Entity except, AxisAlignedBB box, Predicate<Entity> filter)
+    {
+        int minX = SectionPos.toChunk((int)Math.floor(box.minX));
+        int minY = SectionPos.toChunk((int)Math.floor(box.minY));
+        int minZ = SectionPos.toChunk((int)Math.floor(box.minZ));
+        int maxX = SectionPos.toChunk((int)Math.floor(box.maxX));
+        int maxY = SectionPos.toChunk((int)Math.floor(box.maxY));
+        int maxZ = SectionPos.toChunk((int)Math.floor(box.maxZ));
+        boolean isSingleCell = minX == maxX && minY == maxY && minZ == maxZ;
+
+        List<Entity> results = new ArrayList<>();
+        // an entity straddling cells is in each of their lists, only count it once
+        Set<Entity> seen = isSingleCell ? null : new HashSet<>();
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (Entity e : cell(world, x, y, z)) {
+                        if (e == except || !e.getBoundingBox().intersects(box) || !filter.test(e)) {
+                            continue;
+                        }
+                        if (seen != null && !seen.add(e)) {
+                            continue;
+                        }
+                        results.add(e);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<Entity> cell(World world, int x, int y, int z)
+    {
+        return cells.computeIfAbsent(SectionPos.asLong(x, y, z), k -> {
+            AxisAlignedBB bounds = new AxisAlignedBB(x << 4, y << 4, z << 4, (x + 1) << 4, (y + 1) << 4, (z + 1) << 4).grow(CELL_MARGIN);
+            return world.getEntitiesInAABBexcluding(null, bounds, e -> !e.isSpectator());
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.xeno.goo.entities;
+
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+
+import java.util.*;
+
+/**
+ * Goo blobs that have come to rest in a dimension, bucketed by chunk. A blob that lands pours itself into any
+ * resting blob of the same goo close enough to touch, so a puddle of blobs becomes a few big ones instead of
+ * dozens of ticking entities. Only the chunks around the landing spot are looked at.
+ */
+public class GooCoalescer
+{
+    private static final Map<RegistryKey<World>, GooCoalescer> coalescers = new HashMap<>();
+
+    // centre to centre, in blocks
+    private static final double MERGE_RADIUS = 1.0d;
+    private static final double MERGE_RADIUS_SQUARED = MERGE_RADIUS * MERGE_RADIUS;
+
+    public static GooCoalescer get(World world)
+    {
+        return coalescers.computeIfAbsent(world.func_234923_W_(), k -> new GooCoalescer());
+    }
+
+    public static void unload(World world)
+    {
+        coalescers.remove(world.func_234923_W_());
+    }
+
+    private final Map<Long, List<GooEntity>> resting = new HashMap<>();
+
+    // returns false if the blob was poured away entirely and is gone.
+    public boolean settle(GooEntity goo)
+    {
+        int minChunkX = (int)Math.floor(goo.getPosX() - MERGE_RADIUS) >> 4;
+        int maxChunkX = (int)Math.floor(goo.getPosX() + MERGE_RADIUS) >> 4;
+        int minChunkZ = (int)Math.floor(goo.getPosZ() - MERGE_RADIUS) >> 4;
+        int maxChunkZ = (int)Math.floor(goo.getPosZ() + MERGE_RADIUS) >> 4;
+        for (int x = minChunkX; x <= maxChunkX; x++) {
+            for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                List<GooEntity> bucket = resting.get(ChunkPos.asLong(x, z));
+                if (bucket == null) {
+                    continue;
+                }
+                if (pourInto(goo, bucket)) {
+                    goo.remove();
+                    return false;
+                }
+            }
+        }
+
+        resting.computeIfAbsent(chunkKey(goo), k -> new ArrayList<>()).add(goo);
+        return true;
+    }
+
+    // returns true once the blob has nothing left to pour.
+    private static boolean pourInto(GooEntity goo, List<GooEntity> bucket)
+    {
+        for (GooEntity other : bucket) {
+            if (other == goo || !other.isAlive() || other.isHeld() || !other.goo.isFluidEqual(goo.goo)) {
+                continue;
+            }
+            if (other.getDistanceSq(goo) > MERGE_RADIUS_SQUARED) {
+                continue;
+            }
+            int amount = goo.currentAmount();
+            int poured = other.fill(new FluidStack(goo.goo.getFluid(), amount), IFluidHandler.FluidAction.EXECUTE);
+            if (poured <= 0) {
+                continue;
+            }
+            goo.drain(poured, IFluidHandler.FluidAction.EXECUTE);
+            if (poured >= amount) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void remove(GooEntity goo)
+    {
+        long key = chunkKey(goo);
+        List<GooEntity> bucket = resting.get(key);
+        if (bucket == null) {
+            return;
+        }
+        bucket.remove(goo);
+        if (bucket.isEmpty()) {
+            resting.remove(key);
+        }
+    }
+
+    private static long chunkKey(GooEntity goo)
+    {
+        return ChunkPos.asLong((int)Math.floor(goo.getPosX()) >> 4, (int)Math.floor(goo.getPosZ()) >> 4);
+    }
+}
@@ -1,6 +1,7 @@
 package com.xeno.goo.entities;
 
 import com.xeno.goo.fluids.GooFluid;
+import com.xeno.goo.fluids.GooFluidIndex;
 import com.xeno.goo.items.GooHolder;
 import com.xeno.goo.network.GooLobConfirmationPacket;
 import com.xeno.goo.network.Networking;
@@ -11,7 +12,6 @@ import net.minecraft.block.material.Material;
 import net.minecraft.entity.*;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.ServerPlayerEntity;
-import net.minecraft.entity.projectile.ProjectileHelper;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
@@ -40,13 +40,22 @@ import net.minecraftforge.fml.network.NetworkHooks;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public abstract class GooEntity extends Entity implements IEntityAdditionalSpawnData, IFluidHandler
 {
+    // the amount as of DECAY_SINCE, the game time it was last settled at, masked to a positive int.
+    // clients decay from the pair exactly as the server does.
     private static final DataParameter<Integer> GOO_SIZE = EntityDataManager.createKey(GooEntity.class, DataSerializers.VARINT);
+    private static final DataParameter<Integer> DECAY_SINCE = EntityDataManager.createKey(GooEntity.class, DataSerializers.VARINT);
+    // game time we came to rest at, masked to a positive int, or -1 while we're not resting
+    private static final DataParameter<Integer> RESTING_SINCE = EntityDataManager.createKey(GooEntity.class, DataSerializers.VARINT);
     private static final double GENERAL_FRICTION = 0.98d;
     private static final int QUIVER_TIMER_INITIALIZED_VALUE = 100;
     private static final int QUIVER_TIMER_ONE_CYCLE_DOWN = 75;
+    private static final int QUIVER_CYCLE = QUIVER_TIMER_INITIALIZED_VALUE - QUIVER_TIMER_ONE_CYCLE_DOWN + 1;
+    // how often a resting blob looks at the block holding it up
+    private static final int REST_CHECK_INTERVAL = 20;
     private float enchantedSpeed;
     public FluidStack goo;
     private boolean isInGround;
@@ -59,6 +68,21 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
     private EntitySize size;
     private boolean isLaunched;
 
+    // goo decays by a mB a tick, worked out from how long it's been since the amount was last settled instead
+    // of ticked down, so the synced size only changes when the bounding box actually does.
+    private long decayStartTime;
+    private int decayStartAmount;
+    private int sizeBucket;
+    // whether we've landed and been offered to the coalescer, which only happens once
+    private boolean isSettled;
+
+    // a blob sitting in the ground skips movement, collision and ray tracing entirely until the block it's in
+    // changes or something touches it. clients work out the quiver from when it came to rest.
+    private boolean isResting;
+    private BlockPos restingPos;
+    private BlockState restingState;
+    private int restingSince = -1;
+
 
     protected GooEntity(EntityType<? extends GooEntity> entityType, World worldIn, Entity sender, FluidStack stack) {
         super(entityType, worldIn);
@@ -92,8 +116,13 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
     }
 
     public void notifyDataManagerChange(DataParameter<?> key) {
-        if (GOO_SIZE.equals(key)) {
-            this.recalculateSize();
+        // a correction from the server, decay carries on locally from here
+        if ((GOO_SIZE.equals(key) || DECAY_SINCE.equals(key)) && world.isRemote() && goo != null) {
+            applyDecayCorrection();
+        }
+        if (RESTING_SINCE.equals(key) && world.isRemote()) {
+            this.restingSince = this.dataManager.get(RESTING_SINCE);
+            this.isResting = this.restingSince >= 0;
         }
 
         super.notifyDataManagerChange(key);
@@ -102,6 +131,8 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
     @Override
     protected void registerData() {
         this.dataManager.register(GOO_SIZE, 1);
+        this.dataManager.register(DECAY_SINCE, 0);
+        this.dataManager.register(RESTING_SINCE, -1);
     }
 
     protected abstract void interactWithSolid(BlockPos pos);
@@ -132,6 +163,7 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
             return false;
         }
 
+        settleDecay();
         if (this.drain(this.goo, IFluidHandler.FluidAction.SIMULATE).isEmpty())
         {
             return false;
@@ -194,6 +226,12 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
                 this.setMotion(owner.getMotion());
                 handleKeepingSteady();
             }
+        } else if (this.isResting) {
+            if (!world.isRemote() && this.ticksExisted % REST_CHECK_INTERVAL == 0
+                    && (world.getBlockState(restingPos) != restingState || isTouchedByAnything())) {
+                wakeFromRest();
+            }
+            handleDecay();
         } else {
 
             handleMovement();
@@ -206,18 +244,63 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
 
     protected void handleDecay() {
         // goo doesn't decay as long as you're holding it.
-        if (this.isHeld) {
+        if (this.isHeld || world.isRemote()) {
             return;
         }
-        if (goo.getAmount() < 1) {
+        int amount = currentAmount();
+        if (amount < 1) {
             this.setDead();
             this.remove();
-        } else {
-            goo.setAmount(goo.getAmount() - 1); // decay system needs work TODO
+        } else if (sizeBucket(amount) != sizeBucket) {
+            settleDecay();
             setSize();
         }
     }
 
+    // how much goo is left right now, without touching the stack
+    public int currentAmount()
+    {
+        if (this.isHeld || world == null) {
+            return decayStartAmount;
+        }
+        long elapsed = world.getGameTime() - decayStartTime;
+        return (int)Math.max(0L, decayStartAmount - elapsed);
+    }
+
+    // brings the stack up to date with decay so far, anything reading or changing goo directly needs this first.
+    protected void settleDecay()
+    {
+        goo.setAmount(currentAmount());
+        restartDecay();
+    }
+
+    private int maskedGameTime()
+    {
+        return (int)(world.getGameTime() & Integer.MAX_VALUE);
+    }
+
+    // client side; picks decay up from when the server last settled the amount, not from when we heard about it.
+    private void applyDecayCorrection()
+    {
+        int elapsed = (maskedGameTime() - this.dataManager.get(DECAY_SINCE)) & Integer.MAX_VALUE;
+        decayStartAmount = this.dataManager.get(GOO_SIZE);
+        decayStartTime = world.getGameTime() - elapsed;
+        goo.setAmount(currentAmount());
+        setSize();
+    }
+
+    private void restartDecay()
+    {
+        decayStartAmount = goo.getAmount();
+        decayStartTime = world == null ? 0L : world.getGameTime();
+    }
+
+    // the bounding box edge in tenths of a block, rounded up so the box is never smaller than the blob.
+    private static int sizeBucket(int amount)
+    {
+        return (int)Math.ceil(Math.cbrt(amount));
+    }
+
     @Override
     protected void setDead()
     {
@@ -230,6 +313,15 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
         super.remove();
     }
 
+    @Override
+    public void onRemovedFromWorld()
+    {
+        super.onRemovedFromWorld();
+        if (this.isSettled && !world.isRemote()) {
+            GooCoalescer.get(world).remove(this);
+        }
+    }
+
     public Vector3d getSenderHoldPosition() {
         return new Vector3d(owner.getPosX(), owner.getPosYEye(), owner.getPosZ()).add(owner.getLookVec().normalize().scale(1f + (this.cubicSize / 10f)));
     }
@@ -261,14 +353,75 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
         }
 
         if (this.isInGround) {
-            startQuivering();
+            if (!this.isSettled && !world.isRemote()) {
+                this.isSettled = true;
+                // we may have been poured into a blob already sitting here
+                if (!GooCoalescer.get(world).settle(this)) {
+                    return;
+                }
+            }
             this.setMotion(Vector3d.ZERO);
+            startResting(blockpos, blockstate);
         } else {
+            if (this.restingSince >= 0 && !world.isRemote()) {
+                leaveRest();
+            }
             doFreeMovement(motion);
         }
         this.inBlockState = blockstate;
     }
 
+    private void startResting(BlockPos pos, BlockState state)
+    {
+        this.isResting = true;
+        if (world.isRemote()) {
+            return;
+        }
+        // woken and settled straight back into the same spot, so clients don't need to hear about it.
+        boolean isSameSpot = this.restingSince >= 0 && pos.equals(this.restingPos) && state == this.restingState;
+        this.restingPos = pos.toImmutable();
+        this.restingState = state;
+        if (!isSameSpot) {
+            this.restingSince = maskedGameTime();
+            this.dataManager.set(RESTING_SINCE, this.restingSince);
+        }
+    }
+
+    // the next tick runs full physics, which either puts us straight back to rest or sends us on our way.
+    public void wakeFromRest()
+    {
+        if (!this.isResting) {
+            return;
+        }
+        this.isResting = false;
+        this.isInGround = false;
+    }
+
+    private void leaveRest()
+    {
+        this.restingSince = -1;
+        this.dataManager.set(RESTING_SINCE, -1);
+        if (this.isSettled) {
+            GooCoalescer.get(world).remove(this);
+            this.isSettled = false;
+        }
+    }
+
+    // other resting blobs sitting in the same puddle don't count, or a pile would keep waking itself up
+    private boolean isTouchedByAnything()
+    {
+        return !GooBroadphase.query(world, this, this.getBoundingBox(),
+                e -> e.isAlive() && !e.isSpectator() && !(e instanceof GooEntity && ((GooEntity) e).isResting)).isEmpty();
+    }
+
+    @Override
+    public void onCollideWithPlayer(PlayerEntity entityIn)
+    {
+        if (!world.isRemote()) {
+            wakeFromRest();
+        }
+    }
+
     protected void splat(BlockPos pos, Direction face) {
         // the state we're interested in observing is the state of the hit block, not the offset.
         BlockState state = world.getBlockState(pos);
@@ -338,7 +491,25 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
      * Gets the EntityRayTraceResult representing the entity hit
      */
     protected EntityRayTraceResult rayTraceEntities(Vector3d startVec, Vector3d endVec) {
-        return ProjectileHelper.rayTraceEntities(this.world, this, startVec, endVec, this.getBoundingBox().expand(this.getMotion()).grow(1.0D), this::canHitEntityAndNotAlready);
+        // same test as ProjectileHelper.rayTraceEntities, but over the shared broadphase's candidates
+        Entity closestEntity = null;
+        double closestDistance = Double.MAX_VALUE;
+        for (Entity entity : GooBroadphase.query(this.world, this, getCollisionQueryBox(), this::canHitEntityAndNotAlready)) {
+            Optional<Vector3d> hit = entity.getBoundingBox().grow(0.3D).rayTrace(startVec, endVec);
+            if (!hit.isPresent()) {
+                continue;
+            }
+            double distance = startVec.squareDistanceTo(hit.get());
+            if (distance < closestDistance) {
+                closestEntity = entity;
+                closestDistance = distance;
+            }
+        }
+        return closestEntity == null ? null : new EntityRayTraceResult(closestEntity);
+    }
+
+    private AxisAlignedBB getCollisionQueryBox() {
+        return this.getBoundingBox().expand(this.getMotion()).grow(1.0D);
     }
 
     protected boolean canHitEntityAndNotAlready(Entity hitEntity) {
@@ -371,6 +542,7 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
 
     @Override
     public CompoundNBT serializeNBT() {
+        settleDecay();
         CompoundNBT tag = super.serializeNBT();
         goo.writeToNBT(tag);
         tag.putFloat("cubicSize", cubicSize);
@@ -433,20 +605,42 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
         return false;
     }
 
+    // spawn data flags, packed into one byte
+    private static final int SPAWN_HELD = 1;
+    private static final int SPAWN_LAUNCHED = 2;
+    private static final int SPAWN_COLLIDING = 4;
+    // speed goes over the wire in 256ths
+    private static final float SPEED_QUANTUM = 256f;
+
+    // position and motion already travel with the spawn packet, and the size and rest time with the entity's
+    // synced data, so all that's left is what the goo is and who has it.
     @Override
     public void writeSpawnData(PacketBuffer buffer)
     {
-        CompoundNBT tag = serializeNBT();
-        writeAdditional(tag);
-        buffer.writeCompoundTag(tag);
+        settleDecay();
+        buffer.writeVarInt(((GooFluid) goo.getFluid()).ordinal());
+        buffer.writeVarInt(goo.getAmount());
+        int flags = (isHeld ? SPAWN_HELD : 0) | (isLaunched ? SPAWN_LAUNCHED : 0) | (isCollidingEntity ? SPAWN_COLLIDING : 0);
+        buffer.writeByte(flags);
+        // zero for no owner
+        buffer.writeVarInt(owner == null ? 0 : owner.getEntityId() + 1);
+        buffer.writeVarInt(Math.max(0, Math.round(enchantedSpeed * SPEED_QUANTUM)));
     }
 
     @Override
     public void readSpawnData(PacketBuffer additionalData)
     {
-        CompoundNBT tag = additionalData.readCompoundTag();
-        deserializeNBT(tag);
-        readAdditional(tag);
+        int ordinal = additionalData.readVarInt();
+        int amount = additionalData.readVarInt();
+        goo = new FluidStack(GooFluidIndex.fluid(ordinal), amount);
+        int flags = additionalData.readUnsignedByte();
+        isHeld = (flags & SPAWN_HELD) != 0;
+        isLaunched = (flags & SPAWN_LAUNCHED) != 0;
+        isCollidingEntity = (flags & SPAWN_COLLIDING) != 0;
+        int ownerId = additionalData.readVarInt();
+        owner = ownerId == 0 ? null : world.getEntityByID(ownerId - 1);
+        enchantedSpeed = additionalData.readVarInt() / SPEED_QUANTUM;
+        setSize();
     }
 
     public void tryEnteringTank(BlockPos blockPos)
@@ -460,8 +654,12 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
         }
 
         GooBulbTile b = (GooBulbTile) tile;
+        settleDecay();
 
-        BulbFluidHandler bfh = (BulbFluidHandler) BulbFluidHandler.bulbCapability(b, Direction.UP);
+        IFluidHandler bfh = BulbFluidHandler.bulbCapability(b, Direction.UP);
+        if (bfh == null) {
+            return;
+        }
         int attemptTransfer = bfh.fill(goo, IFluidHandler.FluidAction.SIMULATE);
         if (attemptTransfer >= goo.getAmount()) {
             bfh.fill(goo, IFluidHandler.FluidAction.EXECUTE);
@@ -470,12 +668,23 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
             bfh.fill(new FluidStack(goo.getFluid(), attemptTransfer), IFluidHandler.FluidAction.EXECUTE);
             goo.setAmount(goo.getAmount() - attemptTransfer);
         }
+        setSize();
     }
 
+    // call whenever the amount in the stack changes; only a change of size bucket resizes the box.
     protected void setSize() {
-        this.cubicSize = (float)Math.cbrt(goo.getAmount()) / 10f;
+        restartDecay();
+        if (!world.isRemote()) {
+            this.dataManager.set(GOO_SIZE, goo.getAmount());
+            this.dataManager.set(DECAY_SINCE, maskedGameTime());
+        }
+        int bucket = sizeBucket(goo.getAmount());
+        if (this.size != null && bucket == sizeBucket) {
+            return;
+        }
+        this.sizeBucket = bucket;
+        this.cubicSize = bucket / 10f;
         this.size = new EntitySize(cubicSize, cubicSize, false);
-        this.dataManager.set(GOO_SIZE, goo.getAmount());
         this.recalculateSize();
     }
 
@@ -488,11 +697,11 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
         }
         if (owner != null) {
             Collection<Entity> collidedEntities =
-                    this.world.getEntitiesInAABBexcluding(this,
+                    GooBroadphase.query(this.world, this,
                             // grow bb
-                            this.getBoundingBox().expand(this.getMotion()).grow(1.0D),
+                            getCollisionQueryBox(),
                             // filter
-                            (eInBB) -> !eInBB.isSpectator() && eInBB.canBeCollidedWith());
+                            (eInBB) -> !eInBB.isSpectator() && eInBB.isAlive() && eInBB.canBeCollidedWith());
             for(Entity entity1 : collidedEntities) {
                 // skip riders unless we're hitting the lowest
                 if (entity1.getLowestRidingEntity() == owner.getLowestRidingEntity()) {
@@ -560,6 +769,12 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
 
     public void attachGooToSender(Entity entity)
     {
+        // freeze the amount where it is while it's being held
+        settleDecay();
+        wakeFromRest();
+        if (this.restingSince >= 0 && !world.isRemote()) {
+            leaveRest();
+        }
         this.isHeld = true;
         this.isLaunched = false;
         this.owner = entity;
@@ -596,6 +811,7 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
     {
         // this.owner = null;
         this.isHeld = false;
+        restartDecay();
     }
 
     public Entity owner()
@@ -607,13 +823,18 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
         return isHeld;
     }
 
+    // the blob itself, which shrinks smoothly in between the steps of the bounding box
     public float cubicSize()
     {
-        return this.cubicSize;
+        return (float)Math.cbrt(currentAmount()) / 10f;
     }
 
     public int quiverTimer()
     {
+        if (this.isResting && this.restingSince >= 0) {
+            int elapsed = (maskedGameTime() - this.restingSince) & Integer.MAX_VALUE;
+            return QUIVER_TIMER_INITIALIZED_VALUE - elapsed % QUIVER_CYCLE;
+        }
         return quiverTimer;
     }
 
@@ -649,6 +870,7 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
     @Override
     public int fill(FluidStack resource, FluidAction action)
     {
+        settleDecay();
         int spaceRemaining = getTankCapacity(1) - goo.getAmount();
         int transferAmount = Math.min(resource.getAmount(), spaceRemaining);
         if (action == FluidAction.EXECUTE && transferAmount > 0) {
@@ -662,6 +884,7 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
     @Override
     public FluidStack drain(FluidStack resource, FluidAction action)
     {
+        settleDecay();
         FluidStack result = new FluidStack(goo.getFluid(), Math.min(goo.getAmount(), resource.getAmount()));
         if (action == FluidAction.EXECUTE) {
             goo.setAmount(goo.getAmount() - result.getAmount());
@@ -674,6 +897,7 @@ public abstract class GooEntity extends Entity implements IEntityAdditionalSpawn
     @Override
     public FluidStack drain(int maxDrain, FluidAction action)
     {
+        settleDecay();
         FluidStack result = new FluidStack(goo.getFluid(), Math.min(goo.getAmount(), maxDrain));
         if (action == FluidAction.EXECUTE) {
             goo.setAmount(goo.getAmount() - result.getAmount());
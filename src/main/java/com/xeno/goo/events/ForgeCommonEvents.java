@@ -4,7 +4,16 @@ import com.ldtteam.aequivaleo.api.event.OnWorldDataReloadedEvent;
 import com.xeno.goo.GooMod;
 import com.xeno.goo.aequivaleo.*;
 import com.xeno.goo.aequivaleo.bootstrap.GooValueBootstrapper;
+import com.xeno.goo.entities.GooBroadphase;
+import com.xeno.goo.entities.GooCoalescer;
+import com.xeno.goo.network.MachineUpdateQueue;
+import com.xeno.goo.tiles.BulbNetworkManager;
+import net.minecraft.world.World;
+import net.minecraft.world.server.ServerWorld;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.server.FMLServerStartingEvent;
 
@@ -17,6 +26,33 @@ public class ForgeCommonEvents {
         GooValueBootstrapper.onReload(event);
         Equivalencies.resetFurnaceProducts(event.getWorld().getWorld());
         Equivalencies.resetLockedProducts(event.getWorld().getWorld());
+        Equivalencies.resetEntries(event.getWorld().getWorld());
 //        Equivalencies.resetMappings(event.getWorld().getWorld());
     }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event)
+    {
+        if (event.side != LogicalSide.SERVER || event.phase != TickEvent.Phase.END) {
+            return;
+        }
+        BulbNetworkManager.tick(event.world);
+        GooBroadphase.endTick(event.world);
+        // everything machines queued this tick, including the bulb solve above, goes out now.
+        if (event.world instanceof ServerWorld) {
+            MachineUpdateQueue.flush((ServerWorld) event.world);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event)
+    {
+        if (!(event.getWorld() instanceof World) || event.getWorld().isRemote()) {
+            return;
+        }
+        BulbNetworkManager.unload((World) event.getWorld());
+        MachineUpdateQueue.unload((World) event.getWorld());
+        GooCoalescer.unload((World) event.getWorld());
+        GooBroadphase.unload((World) event.getWorld());
+    }
 }
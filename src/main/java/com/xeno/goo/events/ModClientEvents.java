@@ -2,11 +2,14 @@ package com.xeno.goo.events;
 
 import com.xeno.goo.GooMod;
 import com.xeno.goo.client.render.GooBulbRenderer;
+import com.xeno.goo.client.render.GooifierTileRenderer;
+import com.xeno.goo.client.render.MachineActivityRenderer;
 import com.xeno.goo.client.render.SolidifierTileRenderer;
 import com.xeno.goo.setup.Registry;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.RenderTypeLookup;
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ModelRegistryEvent;
 import net.minecraftforge.client.event.TextureStitchEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -21,6 +24,13 @@ public class ModClientEvents
         // rendering stuff
         RenderTypeLookup.setRenderLayer(Registry.GOO_BULB.get(), RenderType.getCutout());
         GooBulbRenderer.register();
+        GooifierTileRenderer.register();
         SolidifierTileRenderer.register();
     }
+
+    @SubscribeEvent
+    public static void onModelRegistry(final ModelRegistryEvent event)
+    {
+        MachineActivityRenderer.registerModels();
+    }
 }
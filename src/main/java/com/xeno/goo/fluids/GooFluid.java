@@ -24,6 +24,11 @@ public class GooFluid extends Fluid
         this.builder = FluidAttributes.builder(still, flowing);
     }
 
+    public int ordinal()
+    {
+        return GooFluidIndex.ordinal(this);
+    }
+
     @Override
     protected FluidAttributes createAttributes()
     {
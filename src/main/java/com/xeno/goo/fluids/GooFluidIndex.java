@@ -0,0 +1,117 @@
+package com.xeno.goo.fluids;
+
+import com.google.common.collect.ImmutableMap;
+import com.xeno.goo.setup.Registry;
+import net.minecraft.util.ResourceLocation;
+
+import java.util.Objects;
+
+/**
+ * Every goo fluid by registry name, resource location and ordinal. It's built once the registries are frozen
+ * and never changes afterward, so each lookup is a single map or array access with no string scanning.
+ * This is the only place ordinals and fluids are mapped to each other, everything else asks here.
+ * Safe for other mods to use once common setup has run.
+ */
+public final class GooFluidIndex
+{
+    // read from the client and server threads, so it's published once fully built.
+    private static volatile GooFluidIndex instance;
+
+    private final ImmutableMap<String, GooFluid> byName;
+    private final ImmutableMap<ResourceLocation, GooFluid> byId;
+    private final ImmutableMap<GooFluid, Integer> ordinals;
+    private final GooFluid[] byOrdinal;
+    private final String[] names;
+    private final String[] translationKeys;
+
+    private GooFluidIndex()
+    {
+        int count = Registry.GOO_FLUID_COUNT;
+        ImmutableMap.Builder<String, GooFluid> nameBuilder = ImmutableMap.builder();
+        ImmutableMap.Builder<ResourceLocation, GooFluid> idBuilder = ImmutableMap.builder();
+        ImmutableMap.Builder<GooFluid, Integer> ordinalBuilder = ImmutableMap.builder();
+        byOrdinal = new GooFluid[count];
+        names = new String[count];
+        translationKeys = new String[count];
+        for (int i = 0; i < count; i++) {
+            GooFluid fluid = Registry.GOO_FLUIDS.get(i).get();
+            ResourceLocation id = Objects.requireNonNull(fluid.getRegistryName());
+            byOrdinal[i] = fluid;
+            names[i] = id.toString();
+            translationKeys[i] = fluid.getAttributes().getTranslationKey();
+            nameBuilder.put(names[i], fluid);
+            idBuilder.put(id, fluid);
+            ordinalBuilder.put(fluid, i);
+        }
+        byName = nameBuilder.build();
+        byId = idBuilder.build();
+        ordinals = ordinalBuilder.build();
+    }
+
+    // called from common setup, by which point every registry is frozen.
+    public static synchronized void build()
+    {
+        if (instance == null) {
+            instance = new GooFluidIndex();
+        }
+    }
+
+    private static GooFluidIndex index()
+    {
+        GooFluidIndex index = instance;
+        // anything asking before setup gets it built on the spot, it's the same data either way.
+        if (index == null) {
+            build();
+            index = instance;
+        }
+        return index;
+    }
+
+    public static GooFluid fluid(String name)
+    {
+        return index().byName.get(name);
+    }
+
+    public static GooFluid fluid(ResourceLocation id)
+    {
+        return index().byId.get(id);
+    }
+
+    public static GooFluid fluid(int ordinal)
+    {
+        return index().byOrdinal[ordinal];
+    }
+
+    // -1 for anything that isn't a goo
+    public static int ordinal(GooFluid fluid)
+    {
+        Integer ordinal = fluid == null ? null : index().ordinals.get(fluid);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    public static int ordinal(String name)
+    {
+        return ordinal(fluid(name));
+    }
+
+    public static int ordinal(ResourceLocation id)
+    {
+        return ordinal(fluid(id));
+    }
+
+    public static String name(int ordinal)
+    {
+        return index().names[ordinal];
+    }
+
+    public static String translationKey(int ordinal)
+    {
+        return index().translationKeys[ordinal];
+    }
+
+    public static String translationKey(String name)
+    {
+        int ordinal = ordinal(name);
+        return ordinal < 0 ? null : translationKey(ordinal);
+    }
+}
@@ -0,0 +1,117 @@
+package com.xeno.goo.network;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.LogicalSide;
+import net.minecraftforge.fml.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Bulb contents as (goo ordinal, amount) pairs. A keyframe carries every goo the bulb holds and replaces
+ * whatever the client had; otherwise only the amounts that changed since the last packet to that player are sent.
+ */
+public class BulbContentsPacket implements IGooModPacket {
+    private RegistryKey<World> worldRegistryKey;
+    private BlockPos pos;
+    private boolean isKeyframe;
+    private int[] ordinals;
+    private int[] amounts;
+
+    public BulbContentsPacket(PacketBuffer buf) {
+        read(buf);
+    }
+
+    public void read(PacketBuffer buf) {
+        this.worldRegistryKey = RegistryKey.func_240903_a_(Registry.WORLD_KEY, buf.readResourceLocation());
+        this.pos = buf.readBlockPos();
+        this.isKeyframe = buf.readBoolean();
+        int count = buf.readVarInt();
+        this.ordinals = new int[count];
+        this.amounts = new int[count];
+        for(int i = 0; i < count; i++) {
+            this.ordinals[i] = buf.readVarInt();
+            this.amounts[i] = buf.readVarInt();
+        }
+    }
+
+    // a null last-sent state means the player has nothing to diff against, so they get a keyframe.
+    public BulbContentsPacket(RegistryKey<World> registryKey, BlockPos pos, int[] goo, int[] lastSent) {
+        this.worldRegistryKey = registryKey;
+        this.pos = pos;
+        this.isKeyframe = lastSent == null;
+        int count = 0;
+        for (int i = 0; i < goo.length; i++) {
+            if (isIncluded(goo, lastSent, i)) {
+                count++;
+            }
+        }
+        this.ordinals = new int[count];
+        this.amounts = new int[count];
+        int index = 0;
+        for (int i = 0; i < goo.length; i++) {
+            if (isIncluded(goo, lastSent, i)) {
+                ordinals[index] = i;
+                amounts[index] = goo[i];
+                index++;
+            }
+        }
+    }
+
+    private static boolean isIncluded(int[] goo, int[] lastSent, int i) {
+        return lastSent == null ? goo[i] > 0 : goo[i] != lastSent[i];
+    }
+
+    // keyframes always go out, an empty one still tells the client the bulb is empty.
+    public boolean isEmpty() {
+        return !isKeyframe && ordinals.length == 0;
+    }
+
+    public void toBytes(PacketBuffer buf) {
+        buf.writeResourceLocation(worldRegistryKey.func_240901_a_());
+        buf.writeBlockPos(pos);
+        buf.writeBoolean(isKeyframe);
+        buf.writeVarInt(ordinals.length);
+        for(int i = 0; i < ordinals.length; i++) {
+            buf.writeVarInt(ordinals[i]);
+            buf.writeVarInt(amounts[i]);
+        }
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> supplier) {
+        supplier.get().enqueueWork(() -> {
+            if (supplier.get().getDirection().getReceptionSide() == LogicalSide.CLIENT) {
+                if (Minecraft.getInstance().world == null) {
+                    return;
+                }
+                // a delta only makes sense against the bulb it was diffed from, never one in another world.
+                if (Minecraft.getInstance().world.func_234923_W_() != worldRegistryKey) {
+                    return;
+                }
+                TileEntity te = Minecraft.getInstance().world.getTileEntity(pos);
+                if (te instanceof IBulbContentsReceiver) {
+                    ((IBulbContentsReceiver) te).updateContents(isKeyframe, ordinals, amounts);
+                }
+            }
+        });
+
+        supplier.get().setPacketHandled(true);
+    }
+
+    public interface IBulbContentsReceiver {
+
+        /**
+         * Applies new amounts to the listed goo ordinals
+         *
+         * @param isKeyframe Whether any goo not listed should be emptied
+         * @param ordinals Goo ordinals that changed
+         * @param amounts New amount of each listed goo
+         */
+        void updateContents(boolean isKeyframe, int[] ordinals, int[] amounts);
+    }
+}
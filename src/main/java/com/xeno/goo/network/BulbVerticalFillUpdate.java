@@ -0,0 +1,60 @@
+package com.xeno.goo.network;
+
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Sent when goo starts falling into a bulb from the one above, switches to a different goo, or stops.
+ * Nothing is sent while a column keeps flowing the same goo.
+ */
+public class BulbVerticalFillUpdate extends MachineUpdate
+{
+    public static final int TYPE = 0;
+
+    // goo ordinal flowing in from above, -1 when the flow stopped
+    private final int ordinal;
+
+    public BulbVerticalFillUpdate(BlockPos pos, PacketBuffer buf)
+    {
+        super(pos);
+        // shifted up one so "stopped" still fits in a single varint byte
+        this.ordinal = buf.readVarInt() - 1;
+    }
+
+    public BulbVerticalFillUpdate(BlockPos pos, int ordinal)
+    {
+        super(pos);
+        this.ordinal = ordinal;
+    }
+
+    @Override
+    public int type()
+    {
+        return TYPE;
+    }
+
+    @Override
+    public void toBytes(PacketBuffer buf)
+    {
+        buf.writeVarInt(ordinal + 1);
+    }
+
+    @Override
+    public void apply(TileEntity te)
+    {
+        if (te instanceof IVerticalFillReceiver) {
+            ((IVerticalFillReceiver) te).updateVerticalFill(ordinal);
+        }
+    }
+
+    public interface IVerticalFillReceiver {
+
+        /**
+         * Starts, changes or stops the vertical fill visual
+         *
+         * @param ordinal goo ordinal being filled vertically from above, or -1 if the flow stopped
+         */
+        void updateVerticalFill(int ordinal);
+    }
+}
@@ -3,21 +3,20 @@ package com.xeno.goo.network;
 import com.xeno.goo.GooMod;
 import com.xeno.goo.entities.GooEntity;
 import net.minecraft.client.entity.player.ClientPlayerEntity;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.network.PacketBuffer;
 import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.network.NetworkEvent;
 
-import java.util.Optional;
-import java.util.UUID;
 import java.util.function.Supplier;
 
 public class GooGrabPacket implements IGooModPacket
 {
-    private UUID goo;
+    private int goo;
 
     public GooGrabPacket(GooEntity goo) {
-        this.goo = goo.getUniqueID();
+        this.goo = goo.getEntityId();
     }
 
     public GooGrabPacket(PacketBuffer buf) {
@@ -27,13 +26,13 @@ public class GooGrabPacket implements IGooModPacket
     @Override
     public void read(PacketBuffer buf)
     {
-        this.goo = buf.readUniqueId();
+        this.goo = buf.readVarInt();
     }
 
     @Override
     public void toBytes(PacketBuffer buf)
     {
-        buf.writeUniqueId(this.goo);
+        buf.writeVarInt(this.goo);
     }
 
     @Override
@@ -42,10 +41,20 @@ public class GooGrabPacket implements IGooModPacket
         supplier.get().enqueueWork(() -> {
             if (supplier.get().getDirection().getReceptionSide() == LogicalSide.SERVER) {
                 ServerPlayerEntity player = supplier.get().getSender();
-                Optional<GooEntity> goo = player.world.getEntitiesWithinAABB(GooEntity.class, player.getBoundingBox().grow(8d), g -> g.getUniqueID().equals(this.goo) && !g.isHeld()).stream().findFirst();
-                goo.ifPresent(gooEntity -> {
-                    gooEntity.attachGooToSender(player);
-                });
+                if (player == null) {
+                    return;
+                }
+
+                Entity e = player.world.getEntityByID(this.goo);
+                if (!(e instanceof GooEntity)) {
+                    return;
+                }
+                GooEntity gooEntity = (GooEntity) e;
+                // still only goo in arm's reach that nobody is holding
+                if (gooEntity.isHeld() || !player.getBoundingBox().grow(8d).intersects(gooEntity.getBoundingBox())) {
+                    return;
+                }
+                gooEntity.attachGooToSender(player);
             }
         });
 
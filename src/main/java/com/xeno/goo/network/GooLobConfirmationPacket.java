@@ -3,6 +3,7 @@ package com.xeno.goo.network;
 import com.xeno.goo.GooMod;
 import com.xeno.goo.entities.GooEntity;
 import net.minecraft.client.Minecraft;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.tileentity.TileEntity;
@@ -10,17 +11,15 @@ import net.minecraft.world.World;
 import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.network.NetworkEvent;
 
-import java.util.Optional;
-import java.util.UUID;
 import java.util.function.Supplier;
 
 public class GooLobConfirmationPacket implements IGooModPacket
 {
-    private UUID goo;
-    private UUID owner;
+    private int goo;
+    private int owner;
     public GooLobConfirmationPacket(GooEntity g, PlayerEntity player) {
-        this.goo = g.getUniqueID();
-        this.owner = player.getUniqueID();
+        this.goo = g.getEntityId();
+        this.owner = player.getEntityId();
     }
 
     public GooLobConfirmationPacket(PacketBuffer buf) {
@@ -30,8 +29,8 @@ public class GooLobConfirmationPacket implements IGooModPacket
     @Override
     public void toBytes(PacketBuffer buf)
     {
-        buf.writeUniqueId(goo);
-        buf.writeUniqueId(owner);
+        buf.writeVarInt(goo);
+        buf.writeVarInt(owner);
     }
 
     @Override
@@ -42,14 +41,20 @@ public class GooLobConfirmationPacket implements IGooModPacket
                 if (Minecraft.getInstance().world == null) {
                     return;
                 }
-                PlayerEntity player = Minecraft.getInstance().world.getPlayerByUuid(owner);
-                if (player == null) {
+                World world = Minecraft.getInstance().world;
+                Entity player = world.getEntityByID(owner);
+                if (!(player instanceof PlayerEntity)) {
                     return;
                 }
-                Optional<GooEntity> goo = player.world.getEntitiesWithinAABB(GooEntity.class, player.getBoundingBox().grow(8d), g -> g.getUniqueID().equals(this.goo) && g.isHeld() && g.owner() == player).stream().findFirst();
-                goo.ifPresent(g -> {
-                    g.clearHolder();
-                });
+                Entity e = world.getEntityByID(this.goo);
+                if (!(e instanceof GooEntity)) {
+                    return;
+                }
+                GooEntity g = (GooEntity) e;
+                if (!g.isHeld() || g.owner() != player) {
+                    return;
+                }
+                g.clearHolder();
             }
         });
 
@@ -59,7 +64,7 @@ public class GooLobConfirmationPacket implements IGooModPacket
     @Override
     public void read(PacketBuffer buf)
     {
-        this.goo = buf.readUniqueId();
-        this.owner = buf.readUniqueId();
+        this.goo = buf.readVarInt();
+        this.owner = buf.readVarInt();
     }
 }
@@ -2,21 +2,20 @@ package com.xeno.goo.network;
 
 import com.xeno.goo.GooMod;
 import com.xeno.goo.entities.GooEntity;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.network.PacketBuffer;
 import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.network.NetworkEvent;
 
-import java.util.Optional;
-import java.util.UUID;
 import java.util.function.Supplier;
 
 public class GooLobPacket implements IGooModPacket
 {
-    private UUID goo;
+    private int goo;
 
     public GooLobPacket(GooEntity goo) {
-        this.goo = goo.getUniqueID();
+        this.goo = goo.getEntityId();
     }
 
     public GooLobPacket(PacketBuffer buf) {
@@ -26,13 +25,13 @@ public class GooLobPacket implements IGooModPacket
     @Override
     public void read(PacketBuffer buf)
     {
-        this.goo = buf.readUniqueId();
+        this.goo = buf.readVarInt();
     }
 
     @Override
     public void toBytes(PacketBuffer buf)
     {
-        buf.writeUniqueId(this.goo);
+        buf.writeVarInt(this.goo);
     }
 
     @Override
@@ -45,10 +44,16 @@ public class GooLobPacket implements IGooModPacket
                     return;
                 }
 
-                Optional<GooEntity> goo = player.world.getEntitiesWithinAABB(GooEntity.class, player.getBoundingBox().grow(8d), g -> g.getUniqueID().equals(this.goo) && g.isHeld() && g.owner() == player).stream().findFirst();
-                goo.ifPresent(g -> {
-                    g.detachGooFromSender(true);
-                });
+                Entity e = player.world.getEntityByID(this.goo);
+                if (!(e instanceof GooEntity)) {
+                    return;
+                }
+                GooEntity g = (GooEntity) e;
+                // only the player holding it gets to throw it
+                if (!g.isHeld() || g.owner() != player) {
+                    return;
+                }
+                g.detachGooFromSender(true);
             }
         });
 
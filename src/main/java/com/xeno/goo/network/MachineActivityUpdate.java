@@ -0,0 +1,56 @@
+package com.xeno.goo.network;
+
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * A machine started or stopped working. It used to be a block state, now it's only tile data the client
+ * renders from, so flipping it doesn't cause block updates or relighting.
+ */
+public class MachineActivityUpdate extends MachineUpdate
+{
+    public static final int TYPE = 3;
+
+    private final boolean isActive;
+
+    public MachineActivityUpdate(BlockPos pos, PacketBuffer buf)
+    {
+        super(pos);
+        this.isActive = buf.readBoolean();
+    }
+
+    public MachineActivityUpdate(BlockPos pos, boolean isActive)
+    {
+        super(pos);
+        this.isActive = isActive;
+    }
+
+    @Override
+    public int type()
+    {
+        return TYPE;
+    }
+
+    @Override
+    public void toBytes(PacketBuffer buf)
+    {
+        buf.writeBoolean(isActive);
+    }
+
+    @Override
+    public void apply(TileEntity te)
+    {
+        if (te instanceof IMachineActivityReceiver) {
+            ((IMachineActivityReceiver) te).updateActivity(isActive);
+        }
+    }
+
+    public interface IMachineActivityReceiver {
+
+        /**
+         * @param isActive whether the machine should render as working
+         */
+        void updateActivity(boolean isActive);
+    }
+}
@@ -0,0 +1,96 @@
+package com.xeno.goo.network;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.LogicalSide;
+import net.minecraftforge.fml.network.NetworkEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Every machine update from one chunk in one tick. Each entry is addressed by its position within the chunk,
+ * packed into a short, rather than a full BlockPos. The world is written once for the whole bundle.
+ */
+public class MachineStatePacket implements IGooModPacket
+{
+    private RegistryKey<World> worldRegistryKey;
+    private ChunkPos chunkPos;
+    private List<MachineUpdate> updates;
+
+    public MachineStatePacket(PacketBuffer buf) {
+        read(buf);
+    }
+
+    @Override
+    public void read(PacketBuffer buf)
+    {
+        worldRegistryKey = RegistryKey.func_240903_a_(Registry.WORLD_KEY, buf.readResourceLocation());
+        chunkPos = new ChunkPos(buf.readLong());
+        int count = buf.readVarInt();
+        updates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int type = buf.readUnsignedByte();
+            BlockPos pos = unpack(chunkPos, buf.readUnsignedShort());
+            updates.add(MachineUpdate.read(type, pos, buf));
+        }
+    }
+
+    public MachineStatePacket(RegistryKey<World> registryKey, ChunkPos chunkPos, Collection<MachineUpdate> updates) {
+        this.worldRegistryKey = registryKey;
+        this.chunkPos = chunkPos;
+        this.updates = new ArrayList<>(updates);
+    }
+
+    public void toBytes(PacketBuffer buf) {
+        buf.writeResourceLocation(worldRegistryKey.func_240901_a_());
+        buf.writeLong(chunkPos.asLong());
+        buf.writeVarInt(updates.size());
+        for (MachineUpdate update : updates) {
+            buf.writeByte(update.type());
+            buf.writeShort(pack(update.pos()));
+            update.toBytes(buf);
+        }
+    }
+
+    // 4 bits of x, 4 bits of z, 8 bits of y
+    public static int pack(BlockPos pos)
+    {
+        return (pos.getX() & 15) << 12 | (pos.getZ() & 15) << 8 | (pos.getY() & 255);
+    }
+
+    private static BlockPos unpack(ChunkPos chunkPos, int packed)
+    {
+        return new BlockPos(chunkPos.getXStart() + (packed >> 12 & 15), packed & 255, chunkPos.getZStart() + (packed >> 8 & 15));
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> supplier) {
+        supplier.get().enqueueWork(() -> {
+            if (supplier.get().getDirection().getReceptionSide() == LogicalSide.CLIENT) {
+                if (Minecraft.getInstance().world == null) {
+                    return;
+                }
+                // sent before the player changed dimension, these positions mean nothing here.
+                if (Minecraft.getInstance().world.func_234923_W_() != worldRegistryKey) {
+                    return;
+                }
+                for (MachineUpdate update : updates) {
+                    TileEntity te = Minecraft.getInstance().world.getTileEntity(update.pos());
+                    if (te != null) {
+                        update.apply(te);
+                    }
+                }
+            }
+        });
+
+        supplier.get().setPacketHandled(true);
+    }
+}
@@ -0,0 +1,49 @@
+package com.xeno.goo.network;
+
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * One machine's change of state. Updates aren't sent on their own, they're queued in MachineUpdateQueue
+ * and go out with everything else that happened in the same chunk that tick, in a MachineStatePacket.
+ */
+public abstract class MachineUpdate
+{
+    protected final BlockPos pos;
+
+    protected MachineUpdate(BlockPos pos)
+    {
+        this.pos = pos.toImmutable();
+    }
+
+    public BlockPos pos()
+    {
+        return pos;
+    }
+
+    // identifies the kind of update inside a bundle, unique per subclass and matched in read() below
+    public abstract int type();
+
+    public abstract void toBytes(PacketBuffer buf);
+
+    // client side, te is whatever tile sits at our position
+    public abstract void apply(TileEntity te);
+
+    public static MachineUpdate read(int type, BlockPos pos, PacketBuffer buf)
+    {
+        switch (type) {
+            case BulbVerticalFillUpdate.TYPE:
+                return new BulbVerticalFillUpdate(pos, buf);
+            case SolidifierTargetUpdate.TYPE:
+                return new SolidifierTargetUpdate(pos, buf);
+            case SolidifierPoppedUpdate.TYPE:
+                return new SolidifierPoppedUpdate(pos);
+            case MachineActivityUpdate.TYPE:
+                return new MachineActivityUpdate(pos, buf);
+            default:
+                // entries aren't length prefixed, so there's no skipping one we don't understand
+                throw new IllegalArgumentException("Unknown machine update type " + type);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.xeno.goo.network;
+
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.server.ServerWorld;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Machine updates waiting for the end of the tick, grouped by chunk so each chunk's watchers get a single
+ * MachineStatePacket. A second update of the same kind for the same machine replaces the first.
+ */
+public class MachineUpdateQueue
+{
+    private static final Map<RegistryKey<World>, Map<Long, Map<Integer, MachineUpdate>>> queues = new HashMap<>();
+
+    public static void queue(World world, MachineUpdate update)
+    {
+        if (world.isRemote()) {
+            return;
+        }
+        long chunk = ChunkPos.asLong(update.pos().getX() >> 4, update.pos().getZ() >> 4);
+        int key = update.type() << 16 | MachineStatePacket.pack(update.pos());
+        queues.computeIfAbsent(world.func_234923_W_(), k -> new HashMap<>())
+                .computeIfAbsent(chunk, k -> new LinkedHashMap<>())
+                .put(key, update);
+    }
+
+    public static void flush(ServerWorld world)
+    {
+        Map<Long, Map<Integer, MachineUpdate>> chunks = queues.get(world.func_234923_W_());
+        if (chunks == null || chunks.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Long, Map<Integer, MachineUpdate>> e : chunks.entrySet()) {
+            ChunkPos chunkPos = new ChunkPos(e.getKey());
+            Networking.sendToClientsAround(new MachineStatePacket(world.func_234923_W_(), chunkPos, e.getValue().values()), world, chunkPos.asBlockPos());
+        }
+        chunks.clear();
+    }
+
+    public static void unload(World world)
+    {
+        queues.remove(world.func_234923_W_());
+    }
+}
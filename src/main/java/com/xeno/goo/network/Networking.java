@@ -22,26 +22,20 @@ public class Networking {
 
     public static void registerNetworkMessages() {
         INSTANCE = NetworkRegistry.newSimpleChannel(new ResourceLocation(GooMod.MOD_ID, "goo"),
-                () -> "1.0",
+                () -> "1.3",
                 s -> true,
                 s -> true);
 
-        INSTANCE.messageBuilder(FluidUpdatePacket.class, nextID())
-                .encoder(FluidUpdatePacket::toBytes)
-                .decoder(FluidUpdatePacket::new)
-                .consumer(FluidUpdatePacket::handle)
+        INSTANCE.messageBuilder(BulbContentsPacket.class, nextID())
+                .encoder(BulbContentsPacket::toBytes)
+                .decoder(BulbContentsPacket::new)
+                .consumer(BulbContentsPacket::handle)
                 .add();
 
-        INSTANCE.messageBuilder(BulbVerticalFillPacket.class, nextID())
-                .encoder(BulbVerticalFillPacket::toBytes)
-                .decoder(BulbVerticalFillPacket::new)
-                .consumer(BulbVerticalFillPacket::handle)
-                .add();
-
-        INSTANCE.messageBuilder(ChangeSolidifierTargetPacket.class, nextID())
-                .encoder(ChangeSolidifierTargetPacket::toBytes)
-                .decoder(ChangeSolidifierTargetPacket::new)
-                .consumer(ChangeSolidifierTargetPacket::handle)
+        INSTANCE.messageBuilder(MachineStatePacket.class, nextID())
+                .encoder(MachineStatePacket::toBytes)
+                .decoder(MachineStatePacket::new)
+                .consumer(MachineStatePacket::handle)
                 .add();
 
         INSTANCE.messageBuilder(GooValueSyncPacket.class, nextID())
@@ -50,12 +44,6 @@ public class Networking {
                 .consumer(GooValueSyncPacket::handle)
                 .add();
 
-        INSTANCE.messageBuilder(SolidifierPoppedPacket.class, nextID())
-                .encoder(SolidifierPoppedPacket::toBytes)
-                .decoder(SolidifierPoppedPacket::new)
-                .consumer(SolidifierPoppedPacket::handle)
-                .add();
-
         INSTANCE.messageBuilder(GooGrabPacket.class, nextID())
                 .encoder(GooGrabPacket::toBytes)
                 .decoder(GooGrabPacket::new)
@@ -81,6 +69,10 @@ public class Networking {
         INSTANCE.send(PacketDistributor.TRACKING_CHUNK.with(() -> chunk), msg);
     }
 
+    public static void sendToPlayer(Object msg, ServerPlayerEntity player) {
+        INSTANCE.send(PacketDistributor.PLAYER.with(() -> player), msg);
+    }
+
     public static void sendRemotePacket(Object msg, ServerPlayerEntity player) {
         if (player.server.isDedicatedServer() || !player.getGameProfile().getName().equals(player.server.getServerOwner())) {
             INSTANCE.sendTo(msg, player.connection.netManager, NetworkDirection.PLAY_TO_CLIENT);
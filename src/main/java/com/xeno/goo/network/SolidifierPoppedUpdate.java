@@ -0,0 +1,46 @@
+package com.xeno.goo.network;
+
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * A solidifier spat out an item. There's no payload, the client works out the nozzle and spit direction
+ * from the solidifier's own facing.
+ */
+public class SolidifierPoppedUpdate extends MachineUpdate
+{
+    public static final int TYPE = 2;
+
+    public SolidifierPoppedUpdate(BlockPos pos)
+    {
+        super(pos);
+    }
+
+    @Override
+    public int type()
+    {
+        return TYPE;
+    }
+
+    @Override
+    public void toBytes(PacketBuffer buf)
+    {
+    }
+
+    @Override
+    public void apply(TileEntity te)
+    {
+        if (te instanceof ISolidifierPoppedReceiver) {
+            ((ISolidifierPoppedReceiver) te).onPopped();
+        }
+    }
+
+    public interface ISolidifierPoppedReceiver {
+
+        /**
+         * Plays the effects of an item being spat out of the nozzle
+         */
+        void onPopped();
+    }
+}
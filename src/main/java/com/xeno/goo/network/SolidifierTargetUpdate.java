@@ -0,0 +1,68 @@
+package com.xeno.goo.network;
+
+import net.minecraft.item.Item;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * A solidifier's target, pending target and swap countdown. Only sent when one of those changes; the client
+ * counts the timer down on its own in between.
+ */
+public class SolidifierTargetUpdate extends MachineUpdate
+{
+    public static final int TYPE = 1;
+
+    private final Item target;
+    private final Item newTarget;
+    private final int changeTargetTimer;
+
+    public SolidifierTargetUpdate(BlockPos pos, PacketBuffer buf)
+    {
+        super(pos);
+        this.target = Item.getItemById(buf.readVarInt());
+        this.newTarget = Item.getItemById(buf.readVarInt());
+        this.changeTargetTimer = buf.readVarInt();
+    }
+
+    public SolidifierTargetUpdate(BlockPos pos, Item target, Item newTarget, int changeTargetTimer)
+    {
+        super(pos);
+        this.target = target;
+        this.newTarget = newTarget;
+        this.changeTargetTimer = changeTargetTimer;
+    }
+
+    @Override
+    public int type()
+    {
+        return TYPE;
+    }
+
+    @Override
+    public void toBytes(PacketBuffer buf)
+    {
+        // targets are always singletons of an item, so the item id is all there is to say about them
+        buf.writeVarInt(Item.getIdFromItem(target));
+        buf.writeVarInt(Item.getIdFromItem(newTarget));
+        buf.writeVarInt(Math.max(changeTargetTimer, 0));
+    }
+
+    @Override
+    public void apply(TileEntity te)
+    {
+        if (te instanceof IChangeSolidifierTargetReceiver) {
+            ((IChangeSolidifierTargetReceiver) te).updateSolidifierTarget(target, newTarget, changeTargetTimer);
+        }
+    }
+
+    public interface IChangeSolidifierTargetReceiver {
+
+        /**
+         * @param target the actual target of the solidifier, whatever it is currently or was before the change event
+         * @param newTarget the target we'll change to if the change is confirmed within the time limit
+         * @param changeTargetTimer the time left to confirm change, the client counts it down from here
+         */
+        void updateSolidifierTarget(Item target, Item newTarget, int changeTargetTimer);
+    }
+}
@@ -1,5 +1,6 @@
 package com.xeno.goo.setup;
 
+import com.xeno.goo.fluids.GooFluidIndex;
 import com.xeno.goo.network.Networking;
 import net.minecraft.entity.ai.attributes.AttributeModifierMap;
 import net.minecraft.entity.ai.attributes.Attributes;
@@ -12,5 +13,6 @@ public class CommonSetup
     public static void init(final FMLCommonSetupEvent event)
     {
         Networking.registerNetworkMessages();
+        GooFluidIndex.build();
     }
 }
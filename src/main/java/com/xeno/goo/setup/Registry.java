@@ -1,5 +1,6 @@
 package com.xeno.goo.setup;
 
+import com.google.common.collect.ImmutableList;
 import com.ldtteam.aequivaleo.api.compound.ICompoundType;
 import com.xeno.goo.GooMod;
 import com.xeno.goo.aequivaleo.compound.GooCompoundType;
@@ -23,6 +24,8 @@ import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import net.minecraftforge.registries.DeferredRegister;
 import net.minecraftforge.registries.ForgeRegistries;
 
+import java.util.List;
+
 public class Registry {
     private static final DeferredRegister<Block> BLOCKS = DeferredRegister.create(ForgeRegistries.BLOCKS, GooMod.MOD_ID);
     private static final DeferredRegister<Fluid> FLUIDS = DeferredRegister.create(ForgeRegistries.FLUIDS, GooMod.MOD_ID);
@@ -84,6 +87,12 @@ public class Registry {
     public static final RegistryObject<GooFluid> VITAL_GOO = FLUIDS.register("vital_goo", () -> new GooFluid(Resources.Still.VITAL_GOO, Resources.Flowing.VITAL_GOO));
     public static final RegistryObject<GooFluid> WEIRD_GOO = FLUIDS.register("weird_goo", () -> new GooFluid(Resources.Still.WEIRD_GOO, Resources.Flowing.WEIRD_GOO));
 
+    // every goo in a fixed order; a goo's position here is its ordinal, which indexes dense per-goo storage.
+    public static final List<RegistryObject<GooFluid>> GOO_FLUIDS = ImmutableList.of(AQUATIC_GOO, CHROMATIC_GOO, CRYSTAL_GOO, DECAY_GOO,
+            EARTHEN_GOO, ENERGETIC_GOO, FAUNAL_GOO, FLORAL_GOO, FUNGAL_GOO, HONEY_GOO, LOGIC_GOO, METAL_GOO, MOLTEN_GOO, OBSIDIAN_GOO,
+            REGAL_GOO, SLIME_GOO, SNOW_GOO, VITAL_GOO, WEIRD_GOO);
+    public static final int GOO_FLUID_COUNT = GOO_FLUIDS.size();
+
     // compounds
     public static final RegistryObject<GooCompoundType> AQUATIC = COMPOUNDS.register("aquatic", () -> new GooCompoundType(new ResourceLocation(GooMod.MOD_ID, "aquatic"), AQUATIC_GOO));
     public static final RegistryObject<GooCompoundType> CHROMATIC = COMPOUNDS.register("chromatic", () -> new GooCompoundType(new ResourceLocation(GooMod.MOD_ID, "chromatic"), CHROMATIC_GOO));
@@ -105,21 +114,27 @@ public class Registry {
     public static final RegistryObject<GooCompoundType> VITAL = COMPOUNDS.register("vital", () -> new GooCompoundType(new ResourceLocation(GooMod.MOD_ID, "vital"), VITAL_GOO));
     public static final RegistryObject<GooCompoundType> WEIRD = COMPOUNDS.register("weird", () -> new GooCompoundType(new ResourceLocation(GooMod.MOD_ID, "weird"), WEIRD_GOO));
 
-    public static String getFluidTranslationKey(String key)
+    public static int gooOrdinal(Fluid f)
     {
-        Fluid f = getFluid(key);
-        if (f == null) {
-            return null;
+        if (!(f instanceof GooFluid)) {
+            return -1;
         }
-        return f.getAttributes().getTranslationKey();
+        return ((GooFluid) f).ordinal();
+    }
+
+    public static GooFluid gooFluid(int ordinal)
+    {
+        return GooFluidIndex.fluid(ordinal);
+    }
+
+    // both of these are just GooFluidIndex lookups now, use that directly where you can.
+    public static String getFluidTranslationKey(String key)
+    {
+        return GooFluidIndex.translationKey(key);
     }
 
     public static Fluid getFluid(String key)
     {
-        RegistryObject<Fluid> fluid = FLUIDS.getEntries().stream().filter(f -> f.getId().toString().equals(key)).findFirst().orElse(null);
-        if (fluid == null) {
-            return null;
-        }
-        return fluid.get();
+        return GooFluidIndex.fluid(key);
     }
 }
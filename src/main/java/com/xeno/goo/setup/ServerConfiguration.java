@@ -45,6 +45,12 @@ public class ServerConfiguration
         return GOO_BULB_TOTAL_CAPACITY.get();
     }
 
+    private ForgeConfigSpec.IntValue GOO_BULB_SYNC_INTERVAL;
+    public int bulbSyncInterval() { return GOO_BULB_SYNC_INTERVAL.get(); }
+
+    private ForgeConfigSpec.IntValue GOOIFIER_BATCH_SIZE;
+    public int gooifierBatchSize() { return GOOIFIER_BATCH_SIZE.get(); }
+
     private void setupGeneralMachineConfig() {
         serverBuilder.comment().push("machines");
 
@@ -60,6 +66,14 @@ public class ServerConfiguration
         GOO_BULB_TOTAL_CAPACITY = serverBuilder.comment("Maximum total amount of goo in a single bulb, default: " + defaultBulbCapacity)
                 .defineInRange("maxBulbCapacity", defaultBulbCapacity, 0, Integer.MAX_VALUE);
 
+        int defaultGooifierBatchSize = 16;
+        GOOIFIER_BATCH_SIZE = serverBuilder.comment("Maximum number of items a gooifier melts from one stack in a single tick, default: " + defaultGooifierBatchSize)
+                .defineInRange("maxGooifierBatchSize", defaultGooifierBatchSize, 1, 64);
+
+        int defaultBulbSyncInterval = 1;
+        GOO_BULB_SYNC_INTERVAL = serverBuilder.comment("Minimum ticks between content updates sent to clients for the same bulb, default: " + defaultBulbSyncInterval)
+                .defineInRange("minBulbSyncInterval", defaultBulbSyncInterval, 1, 200);
+
         serverBuilder.pop();
     }
 
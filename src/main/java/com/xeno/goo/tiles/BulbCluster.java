@@ -0,0 +1,266 @@
+package com.xeno.goo.tiles;
+
+import com.xeno.goo.setup.Registry;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.*;
+
+/**
+ * A group of bulbs that touch one another, directly or through other bulbs. Rather than each bulb
+ * pushing goo at its neighbours, the cluster works out gravity drain and lateral equalization for
+ * every member at once and then hands each bulb its new contents in a single pass.
+ */
+public class BulbCluster
+{
+    private static final Direction[] LATERAL_DIRECTIONS = new Direction[] { Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST };
+
+    private final List<BlockPos> positions = new ArrayList<>();
+    private final List<GooBulbTile> members = new ArrayList<>();
+
+    // topology is derived from member positions and only needs rebuilding when membership changes.
+    private boolean isTopologyDirty = true;
+    // a cluster whose last solve moved nothing sleeps until one of its members changes.
+    private boolean isDormant = false;
+    // index of the member directly below each member, or -1 if there isn't one.
+    private int[] below;
+    // member indexes sorted top to bottom, so goo falling from above can keep falling in the same tick.
+    private int[] drainOrder;
+    // groups of members that are laterally connected on the same layer, these equalize with one another.
+    private int[][] layers;
+
+    // scratch state for the solve, sized to the cluster and reused between ticks so solving doesn't allocate.
+    private int[][] amounts = new int[0][];
+    private int[] totals = new int[0];
+    private boolean[] isChanged = new boolean[0];
+    private int[] verticalFills = new int[0];
+    private int[] giveLeft = new int[0];
+    private int[] takeLeft = new int[0];
+
+    public BulbCluster(BlockPos pos, GooBulbTile bulb)
+    {
+        add(pos, bulb);
+    }
+
+    public void add(BlockPos pos, GooBulbTile bulb)
+    {
+        positions.add(pos);
+        members.add(bulb);
+        bulb.setCluster(this);
+        isTopologyDirty = true;
+        isDormant = false;
+    }
+
+    public void absorb(BulbCluster other)
+    {
+        positions.addAll(other.positions);
+        members.addAll(other.members);
+        for (GooBulbTile bulb : other.members) {
+            bulb.setCluster(this);
+        }
+        isTopologyDirty = true;
+        isDormant = false;
+    }
+
+    public void wake()
+    {
+        isDormant = false;
+    }
+
+    public List<BlockPos> positions()
+    {
+        return positions;
+    }
+
+    public int size()
+    {
+        return members.size();
+    }
+
+    private void rebuildTopology()
+    {
+        int size = members.size();
+        Map<BlockPos, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            indexes.put(positions.get(i), i);
+        }
+
+        below = new int[size];
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            below[i] = indexes.getOrDefault(positions.get(i).down(), -1);
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, Comparator.comparingInt((Integer i) -> positions.get(i).getY()).reversed());
+        drainOrder = new int[size];
+        for (int i = 0; i < size; i++) {
+            drainOrder[i] = sorted[i];
+        }
+
+        // flood fill across lateral neighbours only; a layer of one bulb has nobody to share with.
+        List<int[]> layerList = new ArrayList<>();
+        boolean[] visited = new boolean[size];
+        Deque<Integer> frontier = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            if (visited[i]) {
+                continue;
+            }
+            List<Integer> layer = new ArrayList<>();
+            visited[i] = true;
+            frontier.add(i);
+            while (!frontier.isEmpty()) {
+                int current = frontier.poll();
+                layer.add(current);
+                for (Direction d : LATERAL_DIRECTIONS) {
+                    Integer neighbour = indexes.get(positions.get(current).offset(d));
+                    if (neighbour == null || visited[neighbour]) {
+                        continue;
+                    }
+                    visited[neighbour] = true;
+                    frontier.add(neighbour);
+                }
+            }
+            if (layer.size() > 1) {
+                layerList.add(layer.stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+        layers = layerList.toArray(new int[0][]);
+
+        amounts = new int[size][Registry.GOO_FLUID_COUNT];
+        totals = new int[size];
+        isChanged = new boolean[size];
+        verticalFills = new int[size];
+        giveLeft = new int[size];
+        takeLeft = new int[size];
+
+        isTopologyDirty = false;
+    }
+
+    public void solve(int transferRate, int capacity)
+    {
+        int size = members.size();
+        if (size < 2) {
+            // a lone bulb has nothing above it to fill from, this is a no-op unless it was just split off.
+            if (size == 1) {
+                members.get(0).setVerticalFill(-1);
+            }
+            return;
+        }
+        if (isDormant) {
+            return;
+        }
+
+        if (isTopologyDirty) {
+            rebuildTopology();
+        }
+
+        // snapshot the contents of every member so the whole cluster is solved against one consistent state.
+        boolean hasAnyGoo = false;
+        for (int i = 0; i < size; i++) {
+            GooBulbTile bulb = members.get(i);
+            bulb.copyGooTo(amounts[i]);
+            totals[i] = bulb.getTotalGoo();
+            hasAnyGoo |= totals[i] > 0;
+        }
+        if (!hasAnyGoo) {
+            for (GooBulbTile bulb : members) {
+                bulb.setVerticalFill(-1);
+            }
+            isDormant = true;
+            return;
+        }
+
+        Arrays.fill(isChanged, false);
+        Arrays.fill(verticalFills, -1);
+
+        solveGravity(transferRate, capacity);
+        solveLateral(transferRate, capacity);
+
+        boolean isAnyWorkDone = false;
+        for (int i = 0; i < size; i++) {
+            GooBulbTile bulb = members.get(i);
+            // only sends anything when a flow starts, stops or changes goo.
+            bulb.setVerticalFill(verticalFills[i]);
+            if (!isChanged[i]) {
+                continue;
+            }
+            isAnyWorkDone = true;
+            bulb.applyClusterContents(amounts[i], totals[i]);
+        }
+
+        // applying contents wakes us back up, so the verdict has to come last.
+        isDormant = !isAnyWorkDone;
+    }
+
+    // bulbs above other bulbs drain everything downward, limited by transfer rate and the space below.
+    private void solveGravity(int transferRate, int capacity)
+    {
+        for (int i : drainOrder) {
+            int target = below[i];
+            if (target < 0 || totals[i] == 0) {
+                continue;
+            }
+            int drainLeft = transferRate;
+            int spaceLeft = capacity - totals[target];
+            for (int f = 0; f < amounts[i].length && drainLeft > 0 && spaceLeft > 0; f++) {
+                int moved = Math.min(amounts[i][f], Math.min(drainLeft, spaceLeft));
+                if (moved <= 0) {
+                    continue;
+                }
+                amounts[i][f] -= moved;
+                amounts[target][f] += moved;
+                totals[i] -= moved;
+                totals[target] += moved;
+                drainLeft -= moved;
+                spaceLeft -= moved;
+                isChanged[i] = true;
+                isChanged[target] = true;
+                verticalFills[target] = f;
+            }
+        }
+    }
+
+    // bulbs adjacent to one another laterally "equalize" their contents to allow some hotswapping behaviors.
+    // each layer moves toward its average; anything within 1 mB of it is considered level so nothing ping-pongs.
+    private void solveLateral(int transferRate, int capacity)
+    {
+        for (int[] layer : layers) {
+            Arrays.fill(giveLeft, 0, layer.length, transferRate);
+            Arrays.fill(takeLeft, 0, layer.length, transferRate);
+            for (int f = 0; f < Registry.GOO_FLUID_COUNT; f++) {
+                long sum = 0;
+                for (int m : layer) {
+                    sum += amounts[m][f];
+                }
+                if (sum == 0) {
+                    continue;
+                }
+                int average = (int) (sum / layer.length);
+
+                int taker = 0;
+                for (int giver = 0; giver < layer.length; giver++) {
+                    int g = layer[giver];
+                    int surplus = Math.min(amounts[g][f] - (average + 1), giveLeft[giver]);
+                    while (surplus > 0 && taker < layer.length) {
+                        int t = layer[taker];
+                        int deficit = Math.min(average - amounts[t][f], Math.min(takeLeft[taker], capacity - totals[t]));
+                        if (deficit <= 0) {
+                            taker++;
+                            continue;
+                        }
+                        int moved = Math.min(surplus, deficit);
+                        amounts[g][f] -= moved;
+                        amounts[t][f] += moved;
+                        totals[g] -= moved;
+                        totals[t] += moved;
+                        giveLeft[giver] -= moved;
+                        takeLeft[taker] -= moved;
+                        surplus -= moved;
+                        isChanged[g] = true;
+                        isChanged[t] = true;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -2,9 +2,8 @@ package com.xeno.goo.tiles;
 
 import com.xeno.goo.GooMod;
 import com.xeno.goo.fluids.GooFluid;
-import net.minecraft.fluid.Fluid;
+import com.xeno.goo.setup.Registry;
 import net.minecraft.util.Direction;
-import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
 import net.minecraftforge.fluids.capability.IFluidHandler;
@@ -15,10 +14,6 @@ public class BulbFluidHandler implements IFluidHandler {
         parent = t;
     }
 
-    public void sendVerticalFillSignalForVisuals(Fluid f) {
-        parent.toggleVerticalFillVisuals(f);
-    }
-
     @Override
     public int getTanks() {
         return 1;
@@ -41,15 +36,14 @@ public class BulbFluidHandler implements IFluidHandler {
 
     @Override
     public int fill(FluidStack resource, IFluidHandler.FluidAction action) {
+        int ordinal = Registry.gooOrdinal(resource.getFluid());
+        if (ordinal < 0) {
+            return 0;
+        }
         int spaceRemaining = parent.getSpaceRemaining();
         int transferAmount = Math.min(resource.getAmount(), spaceRemaining);
         if (action == FluidAction.EXECUTE && transferAmount > 0) {
-            if (parent.hasFluid(resource.getFluid())) {
-                FluidStack existingGoo = parent.getSpecificGooType((resource.getFluid()));
-                existingGoo.setAmount(existingGoo.getAmount() + transferAmount);
-            } else {
-                parent.addGoo(new FluidStack(resource.getFluid(), transferAmount));
-            }
+            parent.addGoo(ordinal, transferAmount);
             parent.onContentsChanged();
         }
 
@@ -58,37 +52,37 @@ public class BulbFluidHandler implements IFluidHandler {
 
     @Override
     public FluidStack drain(int maxDrain, FluidAction action) {
-        FluidStack s = parent.getLeastQuantityGoo();
-        FluidStack result = new FluidStack(s.getFluid(), Math.min(s.getAmount(), maxDrain));
+        int ordinal = parent.leastQuantityOrdinal();
+        if (ordinal < 0) {
+            return FluidStack.EMPTY;
+        }
+        int amount = Math.min(parent.amount(ordinal), maxDrain);
         if (action == FluidAction.EXECUTE) {
-            s.setAmount(s.getAmount() - result.getAmount());
+            amount = parent.removeGoo(ordinal, amount);
             parent.onContentsChanged();
         }
 
-        return result;
+        return new FluidStack(Registry.gooFluid(ordinal), amount);
     }
 
     @Override
     public FluidStack drain(FluidStack s, FluidAction action) {
-        FluidStack parentStack = parent.getSpecificGooType(s.getFluid());
-        FluidStack result = new FluidStack(s.getFluid(), Math.min(s.getAmount(), parentStack.getAmount()));
+        int ordinal = Registry.gooOrdinal(s.getFluid());
+        if (ordinal < 0) {
+            return FluidStack.EMPTY;
+        }
+        int amount = Math.min(s.getAmount(), parent.amount(ordinal));
         if (action == FluidAction.EXECUTE) {
-            parentStack.setAmount(parentStack.getAmount() - result.getAmount());
+            amount = parent.removeGoo(ordinal, amount);
             parent.onContentsChanged();
         }
 
-        return result;
+        return new FluidStack(s.getFluid(), amount);
     }
 
+    // tiles next to bulbs should go through a FluidHandlerCache; this is for one-off lookups.
     public static IFluidHandler bulbCapability(GooBulbTile bulb, Direction dir)
     {
-        LazyOptional<IFluidHandler> lazyCap = bulb.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, dir);
-        IFluidHandler cap = null;
-        try {
-            cap = lazyCap.orElseThrow(() -> new Exception("Fluid handler expected from a tile entity that didn't contain one!"));
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return cap;
+        return bulb.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, dir).orElse(null);
     }
 }
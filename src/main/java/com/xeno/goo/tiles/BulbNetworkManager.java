@@ -0,0 +1,191 @@
+package com.xeno.goo.tiles;
+
+import com.xeno.goo.GooMod;
+import net.minecraft.util.Direction;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.*;
+
+/**
+ * Tracks every loaded bulb in a dimension and the clusters they form. Clusters are kept in a union-find
+ * that is joined incrementally as bulbs load or are placed; when a bulb goes away only the cluster it
+ * belonged to is re-seeded, since it may have been split in two.
+ */
+public class BulbNetworkManager
+{
+    private static final Map<RegistryKey<World>, BulbNetworkManager> managers = new HashMap<>();
+
+    public static BulbNetworkManager get(World world)
+    {
+        return managers.computeIfAbsent(world.func_234923_W_(), k -> new BulbNetworkManager());
+    }
+
+    public static void tick(World world)
+    {
+        BulbNetworkManager manager = managers.get(world.func_234923_W_());
+        if (manager == null) {
+            return;
+        }
+        manager.reseedBrokenClusters();
+        manager.solve();
+        manager.flushSyncs(world.getGameTime());
+    }
+
+    public static void unload(World world)
+    {
+        managers.remove(world.func_234923_W_());
+    }
+
+    private final Map<BlockPos, GooBulbTile> bulbs = new HashMap<>();
+    private final Map<BlockPos, BlockPos> parents = new HashMap<>();
+    // keyed by the root of each union-find set
+    private final Map<BlockPos, BulbCluster> clusters = new HashMap<>();
+    // bulbs whose contents changed since they last synced to clients, flushed once at the end of the tick.
+    private final Set<GooBulbTile> pendingSyncs = new LinkedHashSet<>();
+    // roots of clusters that lost bulbs, re-seeded once before the clusters are next needed. a whole chunk
+    // unloading then costs one re-seed per cluster instead of one per bulb.
+    private final Set<BlockPos> brokenRoots = new HashSet<>();
+
+    public void add(GooBulbTile bulb)
+    {
+        BlockPos pos = bulb.getPos().toImmutable();
+        GooBulbTile existing = bulbs.get(pos);
+        if (existing == bulb) {
+            return;
+        }
+        if (existing != null) {
+            remove(existing);
+        }
+        // unions need every set to have a real root again
+        reseedBrokenClusters();
+
+        bulbs.put(pos, bulb);
+        parents.put(pos, pos);
+        clusters.put(pos, new BulbCluster(pos, bulb));
+        for (Direction d : Direction.values()) {
+            BlockPos neighbour = pos.offset(d);
+            if (bulbs.containsKey(neighbour)) {
+                union(pos, neighbour);
+            }
+        }
+    }
+
+    public void remove(GooBulbTile bulb)
+    {
+        BlockPos pos = bulb.getPos();
+        if (bulbs.get(pos) != bulb) {
+            return;
+        }
+
+        pendingSyncs.remove(bulb);
+        bulbs.remove(pos);
+        // the parent link stays until the re-seed, so the rest of the cluster can still find its root
+        brokenRoots.add(find(pos));
+    }
+
+    private void reseedBrokenClusters()
+    {
+        if (brokenRoots.isEmpty()) {
+            return;
+        }
+
+        // union-find can't split a set, so the survivors start over as singletons and rejoin their neighbours.
+        List<BlockPos> survivors = new ArrayList<>();
+        for (BlockPos root : brokenRoots) {
+            BulbCluster cluster = clusters.remove(root);
+            if (cluster == null) {
+                continue;
+            }
+            for (BlockPos member : cluster.positions()) {
+                parents.remove(member);
+                if (bulbs.containsKey(member)) {
+                    survivors.add(member);
+                }
+            }
+        }
+        brokenRoots.clear();
+
+        for (BlockPos member : survivors) {
+            parents.put(member, member);
+            clusters.put(member, new BulbCluster(member, bulbs.get(member)));
+        }
+        for (BlockPos member : survivors) {
+            for (Direction d : Direction.values()) {
+                BlockPos neighbour = member.offset(d);
+                if (bulbs.containsKey(neighbour)) {
+                    union(member, neighbour);
+                }
+            }
+        }
+    }
+
+    private BlockPos find(BlockPos pos)
+    {
+        BlockPos root = pos;
+        BlockPos parent = parents.get(root);
+        while (parent != null && !parent.equals(root)) {
+            // path halving keeps the chains short without recursion
+            BlockPos grandparent = parents.get(parent);
+            parents.put(root, grandparent);
+            root = grandparent;
+            parent = parents.get(root);
+        }
+        return root;
+    }
+
+    private void union(BlockPos a, BlockPos b)
+    {
+        BlockPos rootA = find(a);
+        BlockPos rootB = find(b);
+        if (rootA.equals(rootB)) {
+            return;
+        }
+
+        BulbCluster clusterA = clusters.get(rootA);
+        BulbCluster clusterB = clusters.get(rootB);
+        // union by size, the smaller cluster is folded into the larger one.
+        if (clusterA.size() < clusterB.size()) {
+            BlockPos swapRoot = rootA;
+            rootA = rootB;
+            rootB = swapRoot;
+            BulbCluster swapCluster = clusterA;
+            clusterA = clusterB;
+            clusterB = swapCluster;
+        }
+        parents.put(rootB, rootA);
+        clusters.remove(rootB);
+        clusterA.absorb(clusterB);
+    }
+
+    private void solve()
+    {
+        int transferRate = GooMod.config.gooTransferRate();
+        int capacity = GooMod.config.bulbCapacity();
+        for (BulbCluster cluster : clusters.values()) {
+            cluster.solve(transferRate, capacity);
+        }
+    }
+
+    public void queueSync(GooBulbTile bulb)
+    {
+        pendingSyncs.add(bulb);
+    }
+
+    private void flushSyncs(long gameTime)
+    {
+        if (pendingSyncs.isEmpty()) {
+            return;
+        }
+        int syncInterval = GooMod.config.bulbSyncInterval();
+        Iterator<GooBulbTile> iterator = pendingSyncs.iterator();
+        while (iterator.hasNext()) {
+            GooBulbTile bulb = iterator.next();
+            // bulbs that synced too recently stay queued and go out on a later tick.
+            if (bulb.isRemoved() || bulb.trySync(gameTime, syncInterval)) {
+                iterator.remove();
+            }
+        }
+    }
+}
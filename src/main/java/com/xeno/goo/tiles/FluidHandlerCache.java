@@ -0,0 +1,87 @@
+package com.xeno.goo.tiles;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+
+/**
+ * Remembers which bulbs sit around a tile, and their fluid handlers, one slot per Direction.
+ * A slot is resolved the first time it's asked for and stays put until the neighbour changes or the
+ * bulb's handler is invalidated, so looking up a neighbouring bulb on the hot path is an array read.
+ */
+public class FluidHandlerCache
+{
+    private static final int SIDES = Direction.values().length;
+
+    private final TileEntity owner;
+    private final GooBulbTile[] bulbs = new GooBulbTile[SIDES];
+    private final IFluidHandler[] handlers = new IFluidHandler[SIDES];
+    private final LazyOptional<?>[] optionals = new LazyOptional<?>[SIDES];
+    private final boolean[] isResolved = new boolean[SIDES];
+
+    public FluidHandlerCache(TileEntity owner)
+    {
+        this.owner = owner;
+    }
+
+    public GooBulbTile bulb(Direction d)
+    {
+        resolve(d);
+        return bulbs[d.getIndex()];
+    }
+
+    public IFluidHandler handler(Direction d)
+    {
+        resolve(d);
+        return handlers[d.getIndex()];
+    }
+
+    private void resolve(Direction d)
+    {
+        int i = d.getIndex();
+        if (isResolved[i]) {
+            return;
+        }
+        isResolved[i] = true;
+        bulbs[i] = null;
+        handlers[i] = null;
+
+        if (owner.getWorld() == null) {
+            return;
+        }
+        TileEntity tile = owner.getWorld().getTileEntity(owner.getPos().offset(d));
+        if (!(tile instanceof GooBulbTile)) {
+            return;
+        }
+
+        LazyOptional<IFluidHandler> lazyCap = tile.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, d.getOpposite());
+        if (!lazyCap.isPresent()) {
+            return;
+        }
+        // only listen once per optional; re-resolving against the same bulb shouldn't stack up listeners.
+        if (optionals[i] != lazyCap) {
+            optionals[i] = lazyCap;
+            lazyCap.addListener(l -> invalidate(d));
+        }
+        bulbs[i] = (GooBulbTile) tile;
+        handlers[i] = lazyCap.orElse(null);
+    }
+
+    public void invalidate(Direction d)
+    {
+        isResolved[d.getIndex()] = false;
+    }
+
+    public void invalidate(BlockPos neighbour)
+    {
+        for (Direction d : Direction.values()) {
+            if (owner.getPos().offset(d).equals(neighbour)) {
+                invalidate(d);
+                return;
+            }
+        }
+    }
+}
@@ -2,8 +2,9 @@ package com.xeno.goo.tiles;
 
 import com.xeno.goo.GooMod;
 import com.xeno.goo.library.Compare;
-import com.xeno.goo.network.BulbVerticalFillPacket;
-import com.xeno.goo.network.FluidUpdatePacket;
+import com.xeno.goo.network.BulbVerticalFillUpdate;
+import com.xeno.goo.network.BulbContentsPacket;
+import com.xeno.goo.network.MachineUpdateQueue;
 import com.xeno.goo.network.Networking;
 import com.xeno.goo.setup.Registry;
 import net.minecraft.block.BlockState;
@@ -12,79 +13,183 @@ import net.minecraft.fluid.Fluid;
 import net.minecraft.fluid.Fluids;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
-import net.minecraft.tileentity.ITickableTileEntity;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.Direction;
-import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.util.text.IFormattableTextComponent;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TranslationTextComponent;
+import net.minecraft.world.server.ServerWorld;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
-import net.minecraftforge.fluids.capability.IFluidHandler;
 
 import java.text.NumberFormat;
 import java.util.*;
 import java.util.stream.Collectors;
 
-public class GooBulbTile extends TileEntity implements ITickableTileEntity, FluidUpdatePacket.IFluidPacketReceiver, BulbVerticalFillPacket.IVerticalFillReceiver {
+public class GooBulbTile extends TileEntity implements IWakeableTile, BulbContentsPacket.IBulbContentsReceiver, BulbVerticalFillUpdate.IVerticalFillReceiver {
     private BulbFluidHandler fluidHandler = createHandler();
     private LazyOptional<BulbFluidHandler> handler = LazyOptional.of(() -> fluidHandler);
-    private List<FluidStack> goo = new ArrayList<>();
+    // amounts indexed by goo ordinal, with a running total so capacity checks never have to sum it up.
+    private final int[] goo = new int[Registry.GOO_FLUID_COUNT];
+    private int totalGoo = 0;
+    private BulbCluster cluster;
+    // dormant machines next to us that want to hear about it the next time our contents change.
+    private final List<IWakeableTile> wakeListeners = new ArrayList<>();
+    // content changes only flag us; the network manager sends one update at the end of the tick.
+    private boolean isSyncQueued = false;
+    private long nextSyncTime = 0;
+    // what each tracking player was last sent, so syncs only carry the amounts that moved since.
+    private final Map<UUID, int[]> sentGoo = new HashMap<>();
+    // every so often players get the whole thing again, in case they fell out of step with us.
+    private static final int KEYFRAME_INTERVAL = 200;
+    private long nextKeyframeTime = 0;
+    // goo ordinal flowing in from the bulb above, or -1. the client only decays the visual once this stops.
+    private int verticalFillOrdinal = -1;
     private float verticalFillIntensity = 0f;
     private Fluid verticalFillFluid = Fluids.EMPTY;
+    // game time the client last decayed the vertical fill up to.
+    private long verticalFillDecayedAt = 0;
 
     public GooBulbTile() {
         super(Registry.GOO_BULB_TILE.get());
     }
 
+    // bulbs don't tick. server side, transfers are solved for the whole cluster at once by BulbNetworkManager,
+    // and the client decays the vertical fill from the renderer.
+
     @Override
-    public void tick() {
-        if (world == null) {
-            return;
+    public void onLoad()
+    {
+        super.onLoad();
+        if (world != null && !world.isRemote) {
+            BulbNetworkManager.get(world).add(this);
         }
+    }
+
+    @Override
+    public void onChunkUnloaded()
+    {
+        super.onChunkUnloaded();
+        leaveNetwork();
+        // machines caching our handler drop it when this fires.
+        handler.invalidate();
+    }
+
+    @Override
+    public void remove()
+    {
+        super.remove();
+        leaveNetwork();
+        handler.invalidate();
+    }
 
-        if (world.isRemote) {
-            // vertical fill visuals are client-sided, for a reason. We get sent activity from server but
-            // the decay is local because that's needless packets otherwise. It's deterministic.
-            decayVerticalFillVisuals();
+    private void leaveNetwork()
+    {
+        if (world != null && !world.isRemote) {
+            BulbNetworkManager.get(world).remove(this);
+        }
+        cluster = null;
+    }
+
+    public void setCluster(BulbCluster cluster)
+    {
+        this.cluster = cluster;
+    }
+
+    @Override
+    public void wake()
+    {
+        if (cluster != null) {
+            cluster.wake();
+        }
+    }
+
+    public void wakeOnChange(IWakeableTile listener)
+    {
+        if (!wakeListeners.contains(listener)) {
+            wakeListeners.add(listener);
+        }
+    }
+
+    private void notifyWakeListeners()
+    {
+        if (wakeListeners.isEmpty()) {
             return;
         }
+        for (IWakeableTile listener : wakeListeners) {
+            listener.wake();
+        }
+        wakeListeners.clear();
+    }
+
+    public int amount(int ordinal)
+    {
+        return goo[ordinal];
+    }
 
-        doVerticalDrain();
-        doLateralShare();
+    public int amount(Fluid fluid)
+    {
+        int ordinal = Registry.gooOrdinal(fluid);
+        return ordinal < 0 ? 0 : goo[ordinal];
+    }
+
+    public void addGoo(int ordinal, int amount)
+    {
+        goo[ordinal] += amount;
+        totalGoo += amount;
+    }
 
-        cleanStacks();
+    // returns how much was actually removed, which is never more than the bulb holds.
+    public int removeGoo(int ordinal, int amount)
+    {
+        int removed = Math.min(goo[ordinal], amount);
+        goo[ordinal] -= removed;
+        totalGoo -= removed;
+        return removed;
     }
 
-    private void cleanStacks()
+    // copies out the raw amounts, for solvers that want to work on a snapshot.
+    public void copyGooTo(int[] destination)
     {
-        goo.removeIf(FluidStack::isEmpty);
+        System.arraycopy(goo, 0, destination, 0, goo.length);
     }
 
-    public List<FluidStack> goo()
+    public List<FluidStack> gooStacks()
     {
-        return this.goo;
+        List<FluidStack> stacks = new ArrayList<>();
+        for (int i = 0; i < goo.length; i++) {
+            if (goo[i] > 0) {
+                stacks.add(new FluidStack(Registry.gooFluid(i), goo[i]));
+            }
+        }
+        return stacks;
     }
 
     @Override
-    public void updateVerticalFill(Fluid f, float intensity)
+    public void updateVerticalFill(int ordinal)
     {
-        this.verticalFillIntensity = intensity;
-        this.verticalFillFluid = f;
+        this.verticalFillOrdinal = ordinal;
+        if (ordinal >= 0) {
+            this.verticalFillFluid = Registry.gooFluid(ordinal);
+            this.verticalFillIntensity = 1f; // default fill intensity is just "on", essentially
+        }
     }
 
-    public void toggleVerticalFillVisuals(Fluid f)
+    // server side, only a flow starting, changing goo or stopping goes out; clients hold the visual in between.
+    public void setVerticalFill(int ordinal)
     {
-        verticalFillFluid = f;
-        verticalFillIntensity = 1f; // default fill intensity is just "on", essentially
+        if (ordinal == verticalFillOrdinal) {
+            return;
+        }
+        verticalFillOrdinal = ordinal;
         if (world == null) {
             return;
         }
-        Networking.sendToClientsAround(new BulbVerticalFillPacket(world.func_234923_W_(), pos, verticalFillFluid, verticalFillIntensity), Objects.requireNonNull(Objects.requireNonNull(world.getServer()).getWorld(world.func_234923_W_())), pos);
+        MachineUpdateQueue.queue(world, new BulbVerticalFillUpdate(pos, ordinal));
     }
 
     public float verticalFillIntensity()
@@ -105,15 +210,21 @@ public class GooBulbTile extends TileEntity implements ITickableTileEntity, Flui
         return Math.min(verticalFillIntensity * VERTICAL_FILL_DECAY_RATE, 0.125f);
     }
 
-    public void decayVerticalFillVisuals() {
-        if (!isVerticallyFilled()) {
+    // vertical fill visuals are client-sided, for a reason. We get sent activity from server but the decay is
+    // local because that's needless packets otherwise. It's deterministic, so the renderer drives it off the world
+    // time: one decay step for every game tick since it was last drawn.
+    public void decayVerticalFillVisuals(long gameTime) {
+        long elapsed = gameTime - verticalFillDecayedAt;
+        verticalFillDecayedAt = gameTime;
+        if (verticalFillOrdinal >= 0) {
             return;
         }
-        verticalFillIntensity -= verticalFillDecay(); // flow reduces each frame work tick until there's nothing left.
-        if (verticalFillIntensity <= VERTICAL_FILL_CUTOFF_THRESHOLD) {
-            disableVerticalFillVisuals();
+        for (; elapsed > 0 && isVerticallyFilled(); elapsed--) {
+            verticalFillIntensity -= verticalFillDecay(); // flow reduces each work tick until there's nothing left.
+            if (verticalFillIntensity <= VERTICAL_FILL_CUTOFF_THRESHOLD) {
+                disableVerticalFillVisuals();
+            }
         }
-
     }
 
     public void disableVerticalFillVisuals() {
@@ -125,161 +236,39 @@ public class GooBulbTile extends TileEntity implements ITickableTileEntity, Flui
         return !verticalFillFluid.equals(Fluids.EMPTY) && verticalFillIntensity > 0f;
     }
 
-    public void pruneEmptyGoo()
-    {
-        goo.removeIf(FluidStack::isEmpty);
-    }
-
-    public void addGoo(FluidStack fluidStack)
+    // the bulb's share of the cluster solve; contents are replaced wholesale once the cluster is done with them.
+    public void applyClusterContents(int[] amounts, int total)
     {
-        goo.add(fluidStack);
+        System.arraycopy(amounts, 0, goo, 0, goo.length);
+        totalGoo = total;
+        onContentsChanged();
     }
 
-    // if placed above another bulb, the bulb above will drain everything downward.
-    private void doVerticalDrain() {
-        if (this.goo.size() == 0) {
-            return;
-        }
-        // check the tile below us, if it's not a bulb, bail.
-        GooBulbTile bulb = getBulbInDirection(Direction.DOWN);
-        if (bulb == null) {
-            return;
-        }
-
-        // try fetching the bulb capabilities (upward) and throw an exception if it fails. return if null.
-        IFluidHandler cap = BulbFluidHandler.bulbCapability(bulb, Direction.UP);
-        if (cap == null) {
-            return;
-        }
-
-        // the maximum amount you can drain in a tick is here.
-        int simulatedDrainLeft = GooMod.config.gooTransferRate();
-
-        // iterate over the stacks and ensure
-        for(FluidStack s : goo) {
-            if (simulatedDrainLeft <= 0) {
-                break;
-            }
-            simulatedDrainLeft -= trySendingFluidToBulb(simulatedDrainLeft, s, cap, bulb, true);
-        }
-
-        // avoid concurrent modifications to the indices of the array until all work is final.
-        pruneEmptyGoo();
+    public boolean hasFluid(Fluid fluid) {
+        return amount(fluid) > 0;
     }
 
-    // bulbs adjacent to one another laterally "equalize" their contents to allow some hotswapping behaviors.
-    private void doLateralShare() {
-        if (this.goo.size() == 0) {
-            return;
-        }
-        for(Direction d : new Direction[] { Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST })
-        {
-            // check the tile in this direction, if it's not another bulb, pass;
-            GooBulbTile bulb = getBulbInDirection(d);
-            if (bulb == null) {
-                continue;
-            }
-
-            // try fetching the bulb capabilities in the opposing direction and throw an exception if it fails. return if null.
-            IFluidHandler cap = BulbFluidHandler.bulbCapability(bulb, d.getOpposite());
-            if (cap == null) {
-                return;
+    // ordinal of the goo we have the least (nonzero) amount of, or -1 if we're empty.
+    public int leastQuantityOrdinal() {
+        int least = -1;
+        for (int i = 0; i < goo.length; i++) {
+            if (goo[i] > 0 && (least == -1 || goo[i] < goo[least])) {
+                least = i;
             }
-
-            // the maximum amount you can drain in a tick is here.
-            int simulatedDrainLeft =  GooMod.config.gooTransferRate();
-
-            // iterate over the stacks and ensure
-            for(FluidStack s : goo) {
-                if (simulatedDrainLeft <= 0) {
-                    break;
-                }
-                // only "distribute" to the bulb adjacent if it has less than this one of whatever type (equalizing)
-                int bulbContains = bulb.getSpecificGooType(s.getFluid()).getAmount();
-                int delta = s.getAmount() - bulbContains;
-                // don't send it anything to avoid passing back 1 mB repeatedly.
-                if (delta <= 1) {
-                    continue;
-                }
-                int splitDelta = (int)Math.floor(delta / 2d);
-                int amountToSend = Math.min(splitDelta, simulatedDrainLeft);
-                simulatedDrainLeft = trySendingFluidToBulb(amountToSend, s, cap, bulb, false);
-            }
-
-            // avoid concurrent modifications to the indices of the array until all work is final.
-            pruneEmptyGoo();
         }
-    }
-
-    private int trySendingFluidToBulb(int simulatedDrainLeft, FluidStack s, IFluidHandler cap, GooBulbTile bulb, boolean isVerticalDrain) {
-        // simulated drain left represents how much "suction" is left in the interaction
-        // s is the maximum amount in the stack. the lesser of these is how much you can drain in one tick.
-        int amountLeft = Math.min(simulatedDrainLeft, s.getAmount());
-
-        // do it again, only this time, testing the amount the receptacle can tolerate.
-        amountLeft = Math.min(amountLeft, cap.fill(s, IFluidHandler.FluidAction.SIMULATE));
-
-        // now here, the number can be zero. If it is, it means we don't have space left in the receptacle. Break.
-        if (amountLeft == 0) {
-            return 0;
-        }
-
-        // at this point we know we're able to move a nonzero amount of fluid. Prep a new stack
-        FluidStack stackBeingSwapped = new FluidStack(s.getFluid(), amountLeft);
-
-        // fill the receptacle.
-        cap.fill(stackBeingSwapped, IFluidHandler.FluidAction.EXECUTE);
-        if (cap instanceof BulbFluidHandler && isVerticalDrain) {
-            ((BulbFluidHandler)cap).sendVerticalFillSignalForVisuals(s.getFluid());
-        }
-
-
-        // now call our drain, we're the sender.
-        fluidHandler.drain(stackBeingSwapped, IFluidHandler.FluidAction.EXECUTE);
-
-        // we can only handle so much work in a tick. Decrement the work limit. If it's zero, this loop breaks.
-        // but if it was less than we're allowed to send, we can do more work in this tick, so it will continue.
-        simulatedDrainLeft -= amountLeft;
-
-        return simulatedDrainLeft;
-    }
-
-    private GooBulbTile getBulbInDirection(Direction dir) {
-        if (world == null) {
-            return null;
-        }
-        BlockPos posInDirection = this.pos.offset(dir);
-        TileEntity tile = world.getTileEntity(posInDirection);
-        if (tile == null) {
-            return null;
-        }
-        if (!(tile instanceof GooBulbTile)) {
-            return null;
-        }
-        return (GooBulbTile)tile;
-    }
-
-    public boolean hasFluid(Fluid fluid) {
-        return !getSpecificGooType(fluid).equals(FluidStack.EMPTY);
-    }
-
-    public boolean fluidNamesAreEqual(FluidStack fluidStack, String gooType) {
-        return Objects.requireNonNull(fluidStack.getFluid().getRegistryName()).getPath().equals(gooType);
+        return least;
     }
 
     public FluidStack getLeastQuantityGoo() {
-        return goo.stream().filter(f -> !f.isEmpty() && f.getAmount() > 0).min(Comparator.comparingInt(FluidStack::getAmount)).orElse(FluidStack.EMPTY);
-    }
-
-    public FluidStack getSpecificGooType(Fluid fluid) {
-        if (fluid == null) {
+        int least = leastQuantityOrdinal();
+        if (least == -1) {
             return FluidStack.EMPTY;
         }
-        return goo.stream().filter(f -> fluidNamesAreEqual(f, fluid.getRegistryName().getPath())).findFirst().orElse(FluidStack.EMPTY);
+        return new FluidStack(Registry.gooFluid(least), goo[least]);
     }
 
     public int getTotalGoo() {
-        return goo.stream().mapToInt(FluidStack::getAmount).sum();
+        return totalGoo;
     }
 
     @Override
@@ -292,24 +281,71 @@ public class GooBulbTile extends TileEntity implements ITickableTileEntity, Flui
             return;
         }
         if (!world.isRemote) {
-            if (world.getServer() == null) {
-                return;
+            wake();
+            notifyWakeListeners();
+            if (!isSyncQueued) {
+                isSyncQueued = true;
+                BulbNetworkManager.get(world).queueSync(this);
+            }
+        }
+    }
+
+    // called from the end of tick flush, returns false if we synced too recently and should stay queued.
+    public boolean trySync(long gameTime, int syncInterval)
+    {
+        if (gameTime < nextSyncTime) {
+            return false;
+        }
+        isSyncQueued = false;
+        nextSyncTime = gameTime + syncInterval;
+        if (!(world instanceof ServerWorld)) {
+            return true;
+        }
+        boolean isKeyframeDue = gameTime >= nextKeyframeTime;
+        if (isKeyframeDue) {
+            nextKeyframeTime = gameTime + KEYFRAME_INTERVAL;
+        }
+
+        // players who stopped tracking us are forgotten, so they get a keyframe when they come back.
+        // keyed by uuid so an idle bulb doesn't hang on to players who logged out or respawned.
+        List<ServerPlayerEntity> players = ((ServerWorld) world).getChunkProvider().chunkManager
+                .getTrackingPlayers(new ChunkPos(pos), false).collect(Collectors.toList());
+        Set<UUID> tracking = new HashSet<>();
+        for (ServerPlayerEntity player : players) {
+            tracking.add(player.getUniqueID());
+        }
+        sentGoo.keySet().retainAll(tracking);
+        for (ServerPlayerEntity player : players) {
+            int[] sent = sentGoo.get(player.getUniqueID());
+            BulbContentsPacket packet = new BulbContentsPacket(world.func_234923_W_(), pos, goo, isKeyframeDue ? null : sent);
+            if (packet.isEmpty()) {
+                continue;
             }
-            Networking.sendToClientsAround(new FluidUpdatePacket(world.func_234923_W_(), pos, goo), Objects.requireNonNull(Objects.requireNonNull(world.getServer()).getWorld(world.func_234923_W_())), pos);
+            if (sent == null) {
+                sent = new int[goo.length];
+                sentGoo.put(player.getUniqueID(), sent);
+            }
+            System.arraycopy(goo, 0, sent, 0, goo.length);
+            Networking.sendToPlayer(packet, player);
         }
+        return true;
     }
 
     @Override
     public CompoundNBT getUpdateTag()
     {
-        return this.write(new CompoundNBT());
+        CompoundNBT tag = this.write(new CompoundNBT());
+        // players who start watching mid-flow wouldn't otherwise hear about it until the flow changes.
+        tag.putInt("vertical_fill", verticalFillOrdinal);
+        return tag;
     }
 
     private CompoundNBT serializeGoo()  {
+        List<FluidStack> stacks = gooStacks();
         CompoundNBT tag = new CompoundNBT();
-        tag.putInt("count", goo.size());
+        tag.putInt("count", stacks.size());
         int index = 0;
-        for(FluidStack s : goo) {
+        for(FluidStack s : stacks) {
             CompoundNBT gooTag = new CompoundNBT();
             s.writeToNBT(gooTag);
             tag.put("goo" + index, gooTag);
@@ -330,7 +366,19 @@ public class GooBulbTile extends TileEntity implements ITickableTileEntity, Flui
             tagGooList.add(stack);
         }
 
-        goo = tagGooList;
+        setGooFromStacks(tagGooList);
+    }
+
+    private void setGooFromStacks(List<FluidStack> stacks) {
+        Arrays.fill(goo, 0);
+        totalGoo = 0;
+        for (FluidStack s : stacks) {
+            int ordinal = Registry.gooOrdinal(s.getFluid());
+            if (ordinal < 0) {
+                continue;
+            }
+            addGoo(ordinal, s.getAmount());
+        }
     }
 
     @Override
@@ -344,6 +392,9 @@ public class GooBulbTile extends TileEntity implements ITickableTileEntity, Flui
         CompoundNBT gooTag = tag.getCompound("goo");
         deserializeGoo(gooTag);
         super.read(state, tag);
+        if (tag.contains("vertical_fill")) {
+            updateVerticalFill(tag.getInt("vertical_fill"));
+        }
         onContentsChanged();
     }
 
@@ -357,20 +408,20 @@ public class GooBulbTile extends TileEntity implements ITickableTileEntity, Flui
     }
 
     @Override
-    public void updateFluidsTo(List<FluidStack> fluids) {
-        if (hasChanges(fluids)) {
-            goo = fluids;
+    public void updateContents(boolean isKeyframe, int[] ordinals, int[] amounts) {
+        if (isKeyframe) {
+            Arrays.fill(goo, 0);
         }
-    }
-
-    private boolean hasChanges(List<FluidStack> fluids) {
-        boolean hasChanges = false;
-        for(FluidStack f : fluids) {
-            if (goo.stream().noneMatch(g -> g.isFluidStackIdentical(f))) {
-                hasChanges = true;
+        for (int i = 0; i < ordinals.length; i++) {
+            // anything out of range came from a malformed packet
+            if (ordinals[i] >= 0 && ordinals[i] < goo.length) {
+                goo[ordinals[i]] = amounts[i];
             }
         }
-        return hasChanges;
+        totalGoo = 0;
+        for (int amount : goo) {
+            totalGoo += amount;
+        }
     }
 
     private BulbFluidHandler createHandler() {
@@ -0,0 +1,112 @@
+package com.xeno.goo.tiles;
+
+import com.xeno.goo.aequivaleo.GooComposition;
+import com.xeno.goo.fluids.GooFluidIndex;
+import com.xeno.goo.setup.Registry;
+import net.minecraft.nbt.CompoundNBT;
+
+/**
+ * Partial goo held inside a machine, indexed by goo ordinal in the same fixed point micro-mB as GooComposition.
+ * Keeps a running count of how many goo have at least a whole mB buffered, since that's what the machines
+ * check every tick.
+ */
+public class GooFluidBuffer
+{
+    private final long[] micros = new long[Registry.GOO_FLUID_COUNT];
+    private int wholeCount = 0;
+
+    public long micros(int ordinal)
+    {
+        return micros[ordinal];
+    }
+
+    public double amount(int ordinal)
+    {
+        return GooComposition.toMillibuckets(micros[ordinal]);
+    }
+
+    // whole millibuckets of this goo, the most that can go out of the machine as a fluid stack.
+    public int wholeMillibuckets(int ordinal)
+    {
+        return (int) (micros[ordinal] / GooComposition.MICROS_PER_MB);
+    }
+
+    public void set(int ordinal, long amount)
+    {
+        boolean wasWhole = micros[ordinal] >= GooComposition.MICROS_PER_MB;
+        micros[ordinal] = amount;
+        boolean isWhole = amount >= GooComposition.MICROS_PER_MB;
+        if (wasWhole != isWhole) {
+            wholeCount += isWhole ? 1 : -1;
+        }
+    }
+
+    public void add(int ordinal, long amount)
+    {
+        set(ordinal, micros[ordinal] + amount);
+    }
+
+    public void addMillibuckets(int ordinal, int amount)
+    {
+        add(ordinal, amount * GooComposition.MICROS_PER_MB);
+    }
+
+    public void add(GooComposition composition)
+    {
+        for (int i = 0; i < micros.length; i++) {
+            if (composition.micros(i) != 0) {
+                add(i, composition.micros(i));
+            }
+        }
+    }
+
+    public boolean hasWholeMillibucket()
+    {
+        return wholeCount > 0;
+    }
+
+    public boolean isEmpty()
+    {
+        for (long amount : micros) {
+            if (amount != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // same key/value layout the old Map<String, Double> buffers wrote, so machines and stacks from before still load.
+    public CompoundNBT serialize()
+    {
+        CompoundNBT tag = new CompoundNBT();
+        int index = 0;
+        for (int i = 0; i < micros.length; i++) {
+            if (micros[i] == 0) {
+                continue;
+            }
+            CompoundNBT gooTag = new CompoundNBT();
+            gooTag.putString("key", GooFluidIndex.name(i));
+            gooTag.putDouble("value", amount(i));
+            tag.put("goo" + index, gooTag);
+            index++;
+        }
+        tag.putInt("count", index);
+        return tag;
+    }
+
+    public void deserialize(CompoundNBT tag)
+    {
+        for (int i = 0; i < micros.length; i++) {
+            set(i, 0);
+        }
+        int size = tag.getInt("count");
+        for (int i = 0; i < size; i++) {
+            CompoundNBT gooTag = tag.getCompound("goo" + i);
+            int ordinal = GooFluidIndex.ordinal(gooTag.getString("key"));
+            if (ordinal < 0) {
+                continue;
+            }
+            add(ordinal, GooComposition.toMicros(gooTag.getDouble("value")));
+        }
+    }
+}
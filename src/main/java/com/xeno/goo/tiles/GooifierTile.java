@@ -4,12 +4,13 @@ import com.ldtteam.aequivaleo.api.compound.ICompoundInstance;
 import com.xeno.goo.GooMod;
 import com.xeno.goo.aequivaleo.Equivalencies;
 import com.xeno.goo.aequivaleo.GooEntry;
-import com.xeno.goo.aequivaleo.GooValue;
+import com.xeno.goo.fluids.GooFluidIndex;
+import com.xeno.goo.network.MachineActivityUpdate;
+import com.xeno.goo.network.MachineUpdateQueue;
 import com.xeno.goo.setup.Registry;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.item.ItemEntity;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.fluid.Fluid;
 import net.minecraft.inventory.ISidedInventory;
 import net.minecraft.inventory.ItemStackHelper;
 import net.minecraft.item.ItemStack;
@@ -24,23 +25,23 @@ import net.minecraft.util.text.IFormattableTextComponent;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TranslationTextComponent;
 import net.minecraft.world.World;
-import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 
 import java.text.NumberFormat;
 import java.util.*;
 
-public class GooifierTile extends TileEntity implements ITickableTileEntity, ISidedInventory
+public class GooifierTile extends TileEntity implements ITickableTileEntity, IWakeableTile, ISidedInventory, MachineActivityUpdate.IMachineActivityReceiver
 {
-    private Map<String, Double> fluidBuffer;
+    private final GooFluidBuffer fluidBuffer = new GooFluidBuffer();
     private NonNullList<ItemStack> slots = NonNullList.withSize(5, ItemStack.EMPTY);
-    private boolean isDoingStuff;
-    private int hasNotDoneStuff = 0;
+    private final MachineActivity activity = new MachineActivity();
+    private boolean isDormant = false;
+    // the equivalencies we went dormant under. a reload can make items we skipped worth something.
+    private int dormantGeneration;
+    private final FluidHandlerCache neighbours = new FluidHandlerCache(this);
     public GooifierTile() {
         super(Registry.GOOIFIER_TILE.get());
-        fluidBuffer = new TreeMap<>();
-        isDoingStuff = false;
     }
 
     @Override
@@ -53,9 +54,19 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
             return;
         }
 
+        if (isDormant) {
+            if (dormantGeneration == Equivalencies.generation()) {
+                return;
+            }
+            wake();
+        }
+
+        boolean isAnyWorkDone = false;
+
         // buffered output means we have work left from our last item destruction where a fluidstack can be generated (>= 1f of any fluid)
         if (hasBufferedOutput()) {
             if (tryDistributingFluid()) {
+                isAnyWorkDone = true;
                 markDirty();
             }
         }
@@ -70,29 +81,78 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
                 if (mapping == null) {
                     continue;
                 }
-                bufferOutput(mapping);
-                s.setCount(s.getCount() - 1);
+                int batchSize = getBatchSize(s, mapping);
+                bufferOutput(batchSize == 1 ? mapping : mapping.multiply(batchSize));
+                s.setCount(s.getCount() - batchSize);
+                isAnyWorkDone = true;
                 markDirty();
                 break;
             }
         }
 
-        // latency on when the block goes to a powered off state is to avoid jitter caused by
-        // natural hopper timing.
-        if (!hasBufferedOutput()) {
-            if (hasNotDoneStuff < 10)
-                hasNotDoneStuff++;
-            if (hasNotDoneStuff >= 10) {
-                isDoingStuff = false;
-                updateBlockState();
+        if (activity.update(hasBufferedOutput())) {
+            MachineUpdateQueue.queue(world, new MachineActivityUpdate(pos, activity.isActive()));
+        }
+
+        // nothing moved this tick, so nothing will next tick either until something around us changes.
+        // an idle machine with an empty buffer waits until it has powered down first.
+        if (!isAnyWorkDone && (hasBufferedOutput() || !activity.isActive())) {
+            goDormant();
+        }
+    }
+
+    private void goDormant()
+    {
+        isDormant = true;
+        dormantGeneration = Equivalencies.generation();
+        // the bulbs we feed are the likeliest thing to unblock us, so ask them to tell us when they change.
+        for (Direction d : getValidGasketDirections()) {
+            GooBulbTile bulb = neighbours.bulb(d);
+            if (bulb != null) {
+                bulb.wakeOnChange(this);
             }
-        } else {
-            updateBlockState();
-            isDoingStuff = true;
-            hasNotDoneStuff = 0;
         }
     }
 
+    @Override
+    public void wake()
+    {
+        isDormant = false;
+    }
+
+    public void onNeighborChange(BlockPos neighbor)
+    {
+        neighbours.invalidate(neighbor);
+        wake();
+    }
+
+    @Override
+    public void markDirty()
+    {
+        super.markDirty();
+        // hoppers top up existing stacks directly and then mark us dirty, so treat that as an insertion.
+        wake();
+    }
+
+    // melt as much of the stack as the bulbs around us have room for, up to the configured batch size.
+    private int getBatchSize(ItemStack s, GooEntry mapping)
+    {
+        int batchSize = Math.min(s.getCount(), GooMod.config.gooifierBatchSize());
+        double weight = mapping.weight();
+        if (weight > 0) {
+            int freeSpace = 0;
+            for (Direction d : getValidGasketDirections()) {
+                GooBulbTile bulb = neighbours.bulb(d);
+                if (bulb != null) {
+                    freeSpace += bulb.getSpaceRemaining();
+                }
+            }
+            batchSize = Math.min(batchSize, (int) Math.floor(freeSpace / weight));
+        }
+        // always at least one, same as before batching, so items heavier than the free space don't stall us.
+        return Math.max(1, batchSize);
+    }
+
     private GooEntry getEntryForItem(ItemStack e)
     {
         // String key = Objects.requireNonNull(s.getItem().getRegistryName()).toString();
@@ -112,16 +172,20 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
         return mapping;
     }
 
-    private void updateBlockState()
+    public boolean isActive()
     {
-        if (world == null) {
-            return;
-        }
+        return activity.isActive();
+    }
 
-        BlockState state = world.getBlockState(pos);
-        if (state.get(BlockStateProperties.POWERED) != isDoingStuff) {
-            world.setBlockState(pos, state.with(BlockStateProperties.POWERED, isDoingStuff), Constants.BlockFlags.NOTIFY_NEIGHBORS + Constants.BlockFlags.BLOCK_UPDATE);
-        }
+    @Override
+    public void updateActivity(boolean isActive)
+    {
+        activity.set(isActive);
+    }
+
+    public Direction getHorizontalFacing()
+    {
+        return getBlockState().get(BlockStateProperties.HORIZONTAL_FACING);
     }
 
     private boolean tryDistributingFluid()
@@ -129,31 +193,28 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
         boolean isAnyWorkDone = false;
         int maxPerTickPerGasket = GooMod.config.gooProcessingRate();
         for(Direction d : getValidGasketDirections()) {
-            GooBulbTile bulb = getBulbInDirection(d);
+            GooBulbTile bulb = neighbours.bulb(d);
             if (bulb == null) {
                 continue;
             }
             if (!bulb.hasSpace()) {
                 continue;
             }
+            IFluidHandler cap = neighbours.handler(d);
 
             int workRemaining = maxPerTickPerGasket;
             int workLastCycle = 0;
             boolean isFirstPass = true;
-            IFluidHandler cap = BulbFluidHandler.bulbCapability(bulb, d.getOpposite());
             while(workRemaining > 0 && (workLastCycle > 0 || isFirstPass)) {
                 isFirstPass = false;
                 workLastCycle = 0;
-                for (Map.Entry<String, Double> fluidInBuffer : fluidBuffer.entrySet()) {
-                    if (fluidInBuffer.getValue() < 1f) {
+                for (int ordinal = 0; ordinal < Registry.GOO_FLUID_COUNT; ordinal++) {
+                    int buffered = fluidBuffer.wholeMillibuckets(ordinal);
+                    if (buffered < 1) {
                         continue;
                     }
 
-                    Fluid f = Registry.getFluid(fluidInBuffer.getKey());
-                    if (f == null) {
-                        continue;
-                    }
-                    FluidStack s = new FluidStack(f, Math.min(workRemaining, (int) Math.floor(fluidInBuffer.getValue())));
+                    FluidStack s = new FluidStack(GooFluidIndex.fluid(ordinal), Math.min(workRemaining, buffered));
                     int fillResult = cap.fill(s, IFluidHandler.FluidAction.SIMULATE);
                     if (fillResult > 0) {
                         fillResult = cap.fill(s, IFluidHandler.FluidAction.EXECUTE);
@@ -163,7 +224,7 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
                     isAnyWorkDone = true;
                     workRemaining -= fillResult;
                     workLastCycle += fillResult;
-                    fluidBuffer.put(fluidInBuffer.getKey(), fluidInBuffer.getValue() - fillResult);
+                    fluidBuffer.addMillibuckets(ordinal, -fillResult);
                 }
             }
         }
@@ -171,21 +232,6 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
         return isAnyWorkDone;
     }
 
-    private GooBulbTile getBulbInDirection(Direction dir) {
-        if (world == null) {
-            return null;
-        }
-        BlockPos posInDirection = this.pos.offset(dir);
-        TileEntity tile = world.getTileEntity(posInDirection);
-        if (tile == null) {
-            return null;
-        }
-        if (!(tile instanceof GooBulbTile)) {
-            return null;
-        }
-        return (GooBulbTile)tile;
-    }
-
     private final Direction[] VALID_GASKET_DIRECTIONS = new Direction[] { Direction.EAST, Direction.WEST, Direction.UP };
     private Direction[] getValidGasketDirections()
     {
@@ -194,19 +240,12 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
 
     private void bufferOutput(GooEntry mapping)
     {
-        for(GooValue v : mapping.values()) {
-            String key = v.getFluidResourceLocation();
-            if (fluidBuffer.containsKey(key)) {
-                fluidBuffer.put(key, fluidBuffer.get(key) + v.amount());
-            } else {
-                fluidBuffer.put(key, v.amount());
-            }
-        }
+        fluidBuffer.add(mapping.composition());
     }
 
     private boolean hasBufferedOutput()
     {
-        return fluidBuffer.size() > 0 && fluidBuffer.entrySet().stream().anyMatch(b -> b.getValue() >= 1d);
+        return fluidBuffer.hasWholeMillibucket();
     }
 
     @Override
@@ -231,7 +270,7 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
             return false;
         }
 
-        if (getEntryForItem(itemStackIn) == null) {
+        if (world == null || !Equivalencies.isMeltable(world, itemStackIn.getItem())) {
             return false;
         }
 
@@ -312,6 +351,7 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
     public void setInventorySlotContents(int i, ItemStack stack)
     {
         slots.set(i, stack);
+        wake();
     }
 
     @Override
@@ -332,19 +372,6 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
         return this.write(new CompoundNBT());
     }
 
-    private CompoundNBT serializeGoo()  {
-        CompoundNBT tag = new CompoundNBT();
-        tag.putInt("count", fluidBuffer.size());
-        int index = 0;
-        for(Map.Entry<String, Double> e : fluidBuffer.entrySet()) {
-            CompoundNBT gooTag = new CompoundNBT();
-            gooTag.putString("key", e.getKey());
-            gooTag.putDouble("value", e.getValue());
-            tag.put("goo" + index, gooTag);
-            index++;
-        }
-        return tag;
-    }
 
     private CompoundNBT serializeItems()
     {
@@ -353,16 +380,6 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
         return itemTag;
     }
 
-    private void deserializeGoo(CompoundNBT tag) {
-        int size = tag.getInt("count");
-        for(int i = 0; i < size; i++) {
-            CompoundNBT gooTag = tag.getCompound("goo" + i);
-            String key = gooTag.getString("key");
-            double value = gooTag.getDouble("value");
-            fluidBuffer.put(key, value);
-        }
-    }
-
     private static Map<String, Double> deserializeGooForDisplay(CompoundNBT tag)
     {
         Map<String, Double> unsorted = new HashMap<>();
@@ -392,8 +409,8 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
     public CompoundNBT write(CompoundNBT tag)
     {
         tag.put("items", serializeItems());
-        tag.put("goo", serializeGoo());
-        tag.putBoolean("is_doing_stuff", isDoingStuff);
+        tag.put("goo", fluidBuffer.serialize());
+        tag.putBoolean("is_doing_stuff", activity.isActive());
         return super.write(tag);
     }
 
@@ -402,8 +419,8 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
     {
         super.read(state, tag);
         deserializeItems(tag);
-        deserializeGoo(tag);
-        isDoingStuff = tag.getBoolean("is_doing_stuff");
+        fluidBuffer.deserialize(tag.getCompound("goo"));
+        activity.set(tag.getBoolean("is_doing_stuff"));
     }
 
     public void spewItems()
@@ -470,7 +487,7 @@ public class GooifierTile extends TileEntity implements ITickableTileEntity, ISi
             }
             String decimalValue = " " + NumberFormat.getNumberInstance(Locale.ROOT).format(v.getValue()) + " mB";
             String key = v.getKey();
-            String fluidTranslationKey = Registry.getFluidTranslationKey(key);
+            String fluidTranslationKey = GooFluidIndex.translationKey(key);
             if (fluidTranslationKey == null) {
                 continue;
             }
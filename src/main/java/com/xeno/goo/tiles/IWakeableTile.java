@@ -0,0 +1,10 @@
+package com.xeno.goo.tiles;
+
+/**
+ * Tiles that go dormant once a tick produces no work. Whatever changes their circumstances, a neighbour,
+ * a bulb they were waiting on, an inserted item or a new target, wakes them back up.
+ */
+public interface IWakeableTile
+{
+    void wake();
+}
@@ -0,0 +1,48 @@
+package com.xeno.goo.tiles;
+
+/**
+ * Whether a machine looks like it's working. Switching on is immediate, switching off waits out a few idle
+ * ticks so the natural gaps in hopper timing don't make the machine flicker.
+ */
+public class MachineActivity
+{
+    private static final int IDLE_TICKS_BEFORE_OFF = 10;
+
+    private boolean isActive;
+    private int idleTicks;
+
+    public boolean isActive()
+    {
+        return isActive;
+    }
+
+    // client side, or loading from nbt
+    public void set(boolean isActive)
+    {
+        this.isActive = isActive;
+        this.idleTicks = 0;
+    }
+
+    // returns true when the visible state flipped and clients need telling.
+    public boolean update(boolean isWorking)
+    {
+        if (isWorking) {
+            idleTicks = 0;
+            if (isActive) {
+                return false;
+            }
+            isActive = true;
+            return true;
+        }
+
+        if (!isActive) {
+            return false;
+        }
+        idleTicks++;
+        if (idleTicks < IDLE_TICKS_BEFORE_OFF) {
+            return false;
+        }
+        isActive = false;
+        return true;
+    }
+}
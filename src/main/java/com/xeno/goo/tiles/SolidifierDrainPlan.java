@@ -0,0 +1,97 @@
+package com.xeno.goo.tiles;
+
+import com.xeno.goo.aequivaleo.GooComposition;
+import com.xeno.goo.aequivaleo.GooEntry;
+import com.xeno.goo.fluids.GooFluidIndex;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.item.Item;
+
+/**
+ * What a solidifier has to drain to make one of its target, worked out once when the target changes instead
+ * of from the target's GooEntry every tick. Only the goo the target actually needs are kept, as parallel arrays.
+ * A plan goes stale when equivalencies reload, since the target's composition may have changed with them.
+ */
+public class SolidifierDrainPlan
+{
+    private final Item target;
+    private final int generation;
+    private final boolean isUsable;
+    private final int[] ordinals;
+    private final Fluid[] fluids;
+    private final long[] required;
+
+    public SolidifierDrainPlan(Item target, GooEntry entry, int generation)
+    {
+        this.target = target;
+        this.generation = generation;
+        this.isUsable = entry != null && !entry.isUnusable();
+
+        GooComposition composition = isUsable ? entry.composition() : new GooComposition();
+        int count = 0;
+        for (int i = 0; i < composition.size(); i++) {
+            if (composition.micros(i) > 0) {
+                count++;
+            }
+        }
+        ordinals = new int[count];
+        fluids = new Fluid[count];
+        required = new long[count];
+        int index = 0;
+        for (int i = 0; i < composition.size(); i++) {
+            if (composition.micros(i) <= 0) {
+                continue;
+            }
+            ordinals[index] = i;
+            fluids[index] = GooFluidIndex.fluid(i);
+            required[index] = composition.micros(i);
+            index++;
+        }
+    }
+
+    public boolean isFor(Item target, int generation)
+    {
+        return this.target == target && this.generation == generation;
+    }
+
+    public boolean isUsable()
+    {
+        return isUsable;
+    }
+
+    public int size()
+    {
+        return ordinals.length;
+    }
+
+    public int ordinal(int step)
+    {
+        return ordinals[step];
+    }
+
+    public Fluid fluid(int step)
+    {
+        return fluids[step];
+    }
+
+    public long required(int step)
+    {
+        return required[step];
+    }
+
+    public boolean isCoveredBy(GooFluidBuffer buffer)
+    {
+        for (int i = 0; i < ordinals.length; i++) {
+            if (buffer.micros(ordinals[i]) < required[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void depleteFrom(GooFluidBuffer buffer)
+    {
+        for (int i = 0; i < ordinals.length; i++) {
+            buffer.add(ordinals[i], -required[i]);
+        }
+    }
+}
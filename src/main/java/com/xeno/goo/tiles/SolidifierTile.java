@@ -6,21 +6,23 @@ import com.ldtteam.aequivaleo.api.recipe.equivalency.IEquivalencyRecipeRegistry;
 import com.xeno.goo.GooMod;
 import com.xeno.goo.aequivaleo.EntryHelper;
 import com.xeno.goo.aequivaleo.Equivalencies;
+import com.xeno.goo.aequivaleo.GooComposition;
 import com.xeno.goo.aequivaleo.GooEntry;
-import com.xeno.goo.aequivaleo.GooValue;
-import com.xeno.goo.network.ChangeSolidifierTargetPacket;
-import com.xeno.goo.network.Networking;
-import com.xeno.goo.network.SolidifierPoppedPacket;
+import com.xeno.goo.fluids.GooFluidIndex;
+import com.xeno.goo.network.MachineActivityUpdate;
+import com.xeno.goo.network.MachineUpdateQueue;
+import com.xeno.goo.network.SolidifierPoppedUpdate;
+import com.xeno.goo.network.SolidifierTargetUpdate;
 import com.xeno.goo.setup.Registry;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.item.ItemEntity;
 import net.minecraft.fluid.Fluid;
-import net.minecraft.inventory.IInventory;
 import net.minecraft.inventory.ItemStackHelper;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.particles.ParticleTypes;
 import net.minecraft.state.properties.BlockStateProperties;
 import net.minecraft.tileentity.ITickableTileEntity;
 import net.minecraft.tileentity.TileEntity;
@@ -32,15 +34,19 @@ import net.minecraft.util.text.IFormattableTextComponent;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TranslationTextComponent;
 import net.minecraft.world.World;
+import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
 
 import java.text.NumberFormat;
 import java.util.*;
 
 import static net.minecraft.item.ItemStack.EMPTY;
 
-public class SolidifierTile extends TileEntity implements ITickableTileEntity, ChangeSolidifierTargetPacket.IChangeSolidifierTargetReceiver
+public class SolidifierTile extends TileEntity implements ITickableTileEntity, IWakeableTile, SolidifierTargetUpdate.IChangeSolidifierTargetReceiver, SolidifierPoppedUpdate.ISolidifierPoppedReceiver, MachineActivityUpdate.IMachineActivityReceiver
 {
     private static final int HALF_SECOND_TICKS = 10;
     private static final int ONE_SECOND_TICKS = 20;
@@ -59,9 +65,38 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
     // default timer span of 5 seconds should be plenty of time to swap an input?
     private static final int CHANGE_TARGET_TIMER_DURATION = 100;
 
+    // how often a dormant solidifier sitting on output retries pushing it. inventories don't always tell
+    // their neighbours when they free up space.
+    private static final int OUTPUT_RETRY_INTERVAL = 40;
+
     // the internal buffer gets filled when the machine is in the process of solidifying an item
-    private Map<String, Double> fluidBuffer;
+    private final GooFluidBuffer fluidBuffer = new GooFluidBuffer();
+    // what the current target costs, compiled when the target changes or equivalencies reload.
+    private SolidifierDrainPlan drainPlan;
+    // finished items wait here until they can go out, merged into a single stack.
+    private ItemStack outputBuffer;
     private ItemEntity lastItem;
+    private boolean isDormant;
+    // the equivalencies we went dormant under, a reload can change what the target costs.
+    private int dormantGeneration;
+    private long outputRetryAt;
+    private final MachineActivity activity = new MachineActivity();
+
+    // what clients were last told, so updates only go out when something actually changed.
+    // the countdown is compared by the game time it ends at, since clients run it down themselves.
+    private Item sentTarget;
+    private Item sentNewTarget;
+    private long sentTimerEnd;
+    private final FluidHandlerCache neighbours = new FluidHandlerCache(this);
+
+    // the inventory we push output into, resolved once and dropped when the tile in front is replaced
+    // or its handler is invalidated.
+    private TileEntity outputTile;
+    private LazyOptional<IItemHandler> outputOptional;
+    private IItemHandler outputInventory;
+    private boolean isOutputInventoryResolved;
+    // the slot that last took our output, tried first since it nearly always takes the next lot too.
+    private int lastOutputSlot = -1;
 
     public SolidifierTile() {
         super(Registry.SOLIDIFIER_TILE.get());
@@ -69,9 +104,10 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
         targetStack = EMPTY;
         newTarget = Items.AIR;
         newTargetStack = EMPTY;
-        fluidBuffer = new HashMap<>();
         changeTargetTimer = 0;
+        outputBuffer = EMPTY;
         lastItem = null;
+        isDormant = false;
     }
 
     @Override
@@ -85,18 +121,82 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
             return;
         }
 
-        if (lastItem != null) {
-            if (lastItem.isAlive()) {
+        if (isDormant) {
+            if (!shouldWakeFromDormancy()) {
                 return;
             }
+            wake();
+        }
+
+        if (lastItem != null && !lastItem.isAlive()) {
             lastItem = null;
         }
 
         resolveTargetChangingCountdown();
 
-        if (hasValidTarget()) {
-            handleSolidifying();
+        boolean isAnyWorkDone = hasValidTarget() && handleSolidifying();
+        isAnyWorkDone |= flushOutput();
+
+        if (activity.update(isAnyWorkDone)) {
+            MachineUpdateQueue.queue(world, new MachineActivityUpdate(pos, activity.isActive()));
+        }
+
+        // a pending target swap has to keep counting down, and so does a stack waiting on the last one we spat
+        // to be picked up. otherwise an idle tick means we can sleep, once we've powered down.
+        if (!isAnyWorkDone && changeTargetTimer <= 0 && !isWaitingToSpit() && !activity.isActive()) {
+            goDormant();
+        }
+    }
+
+    private void goDormant()
+    {
+        if (world == null) {
+            return;
+        }
+        isDormant = true;
+        dormantGeneration = Equivalencies.generation();
+        outputRetryAt = world.getGameTime() + OUTPUT_RETRY_INTERVAL;
+        // the bulbs we drain are the likeliest thing to unblock us, so ask them to tell us when they change.
+        for (Direction d : getValidDirections()) {
+            GooBulbTile bulb = neighbours.bulb(d);
+            if (bulb != null) {
+                bulb.wakeOnChange(this);
+            }
+        }
+    }
+
+    private boolean shouldWakeFromDormancy()
+    {
+        if (dormantGeneration != Equivalencies.generation()) {
+            return true;
+        }
+        if (outputBuffer.isEmpty() || world.getGameTime() < outputRetryAt) {
+            return false;
+        }
+        outputRetryAt = world.getGameTime() + OUTPUT_RETRY_INTERVAL;
+        return true;
+    }
+
+    @Override
+    public void wake()
+    {
+        isDormant = false;
+    }
+
+    public void onNeighborChange(BlockPos neighbor)
+    {
+        neighbours.invalidate(neighbor);
+        // inventories fire this every time their contents change, only a different tile means a different handler.
+        if (world != null && neighbor.equals(pos.offset(getHorizontalFacing())) && world.getTileEntity(neighbor) != outputTile) {
+            invalidateOutputInventory();
         }
+        wake();
+    }
+
+    private void invalidateOutputInventory()
+    {
+        isOutputInventoryResolved = false;
+        lastOutputSlot = -1;
     }
 
     private void handleTargetChangingCountdown()
@@ -108,7 +208,7 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
 
     private void resolveTargetChangingCountdown()
     {
-        if (changeTargetTimer <= 0) {
+        if (changeTargetTimer <= 0 && !newTarget.equals(Items.AIR)) {
             newTarget = Items.AIR;
             newTargetStack = EMPTY;
             sendTargetUpdate();
@@ -120,78 +220,153 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
         if (targetStack.isEmpty()) {
             return false;
         }
-        return isValidTarget(target);
+        return drainPlan().isUsable();
     }
 
-    private void handleSolidifying()
+    private SolidifierDrainPlan drainPlan()
     {
-        GooEntry mapping = getItemEntry(target);
-        if (mapping == null || mapping.isUnusable()) {
-            return;
+        int generation = Equivalencies.generation();
+        if (drainPlan == null || !drainPlan.isFor(target, generation)) {
+            drainPlan = new SolidifierDrainPlan(target, getItemEntry(target), generation);
+        }
+        return drainPlan;
+    }
+
+    private boolean handleSolidifying()
+    {
+        SolidifierDrainPlan plan = drainPlan();
+        if (!plan.isUsable()) {
+            return false;
         }
 
-        if (needsToDrainSources(mapping)) {
-            tryDrainingSources(mapping);
+        // a full output buffer backs everything up, there's no point draining goo we can't turn into anything.
+        if (!canBufferOutput()) {
+            return false;
         }
 
-        if (hasBufferedEnough(mapping)) {
-            depleteBufferByEntry(mapping);
-            produceItem();
+        boolean isAnyWorkDone = false;
+        if (!plan.isCoveredBy(fluidBuffer)) {
+            isAnyWorkDone = tryDrainingSources(plan);
         }
+
+        // make as many as the buffered goo pays for, so throughput is down to how fast goo comes in.
+        while (plan.isCoveredBy(fluidBuffer) && canBufferOutput()) {
+            plan.depleteFrom(fluidBuffer);
+            bufferOutput();
+            isAnyWorkDone = true;
+        }
+        return isAnyWorkDone;
     }
 
-    private void produceItem()
+    private boolean canBufferOutput()
     {
-        if (world == null) {
-            return;
+        if (outputBuffer.isEmpty()) {
+            return true;
         }
+        return ItemHandlerHelper.canItemStacksStack(outputBuffer, targetStack)
+                && outputBuffer.getCount() + targetStack.getCount() <= outputBuffer.getMaxStackSize();
+    }
 
-        ItemStack stack = targetStack.copy();
-
-        if (!canPushStackForward(stack).isEmpty()) {
-            spitStack(world, stack);
+    private void bufferOutput()
+    {
+        if (outputBuffer.isEmpty()) {
+            outputBuffer = targetStack.copy();
+        } else {
+            outputBuffer.grow(targetStack.getCount());
         }
     }
 
-    private ItemStack canPushStackForward(ItemStack stack)
+    // returns true if anything left the buffer.
+    private boolean flushOutput()
     {
-        if (world == null) {
-            return stack;
+        if (world == null || outputBuffer.isEmpty()) {
+            return false;
         }
-        BlockPos pos = this.pos.offset(this.getHorizontalFacing());
-        TileEntity tile = world.getTileEntity(pos);
-        if (tile == null) {
-            return stack;
+
+        IItemHandler inventory = getFacingInventory();
+        if (inventory != null) {
+            int before = outputBuffer.getCount();
+            outputBuffer = pushStackForward(inventory, outputBuffer);
+            return outputBuffer.getCount() < before;
         }
-        if (!(tile instanceof IInventory)) {
-            return stack;
+
+        // nothing to put it in, so it goes on the floor, but only once whatever we spat last is gone.
+        if (lastItem != null) {
+            return false;
         }
-        if (stack.isEmpty()) {
-            return stack;
+        spitStack(world, outputBuffer);
+        outputBuffer = EMPTY;
+        return true;
+    }
+
+    private boolean isWaitingToSpit()
+    {
+        return lastItem != null && !outputBuffer.isEmpty();
+    }
+
+    // returns whatever didn't fit.
+    private ItemStack pushStackForward(IItemHandler inventory, ItemStack stack)
+    {
+        int slots = inventory.getSlots();
+        if (lastOutputSlot >= 0 && lastOutputSlot < slots) {
+            stack = inventory.insertItem(lastOutputSlot, stack, false);
+            if (stack.isEmpty()) {
+                return EMPTY;
+            }
         }
 
-        IInventory inventory = ((IInventory)tile);
-        int count = inventory.getSizeInventory();
-        for (int i = 0; i < count; i++) {
-            if (stack.getCount() < 1) {
+        // the hinted slot is full or gone, fall back to looking through the rest.
+        for (int i = 0; i < slots; i++) {
+            if (i == lastOutputSlot) {
+                continue;
+            }
+            ItemStack remainder = inventory.insertItem(i, stack, false);
+            if (remainder.getCount() < stack.getCount()) {
+                lastOutputSlot = i;
+            }
+            stack = remainder;
+            if (stack.isEmpty()) {
                 return EMPTY;
             }
-            if (inventory.isItemValidForSlot(i, stack)) {
-                ItemStack original = inventory.getStackInSlot(i);
-                if (original.isEmpty()) {
-                    inventory.setInventorySlotContents(i, stack);
-                } else {
-                    if (original.isItemEqual(stack)) {
-                        int maxStack = original.getMaxStackSize();
-                        int maxIncrease = Math.min(stack.getCount(), maxStack - original.getCount());
-                        original.setCount(original.getCount() + maxIncrease);
-                        stack.setCount(stack.getCount() - maxIncrease);
-                        inventory.setInventorySlotContents(i, original);
-                    }
+        }
+        return stack;
+    }
+
+    private IItemHandler getFacingInventory()
+    {
+        if (world == null) {
+            return null;
+        }
+        if (!isOutputInventoryResolved) {
+            resolveOutputInventory();
+        }
+        return outputInventory;
+    }
+
+    private void resolveOutputInventory()
+    {
+        isOutputInventoryResolved = true;
+        outputInventory = null;
+        Direction facing = getHorizontalFacing();
+        outputTile = world.getTileEntity(this.pos.offset(facing));
+        if (outputTile == null) {
+            return;
+        }
+
+        LazyOptional<IItemHandler> lazyCap = outputTile.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, facing.getOpposite());
+        if (!lazyCap.isPresent()) {
+            return;
+        }
+        // only listen once per optional; re-resolving against the same inventory shouldn't stack up listeners.
+        if (outputOptional != lazyCap) {
+            outputOptional = lazyCap;
+            lazyCap.addListener(l -> {
+                if (l == outputOptional) {
+                    invalidateOutputInventory();
                 }
-            }
+            });
         }
-        return EMPTY;
+        outputInventory = lazyCap.orElse(null);
     }
 
     private ItemStack spitStack(World world, ItemStack stack)
@@ -209,7 +384,7 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
         itemEntity.setMotion(spitVector.getX(), spitVector.getY(), spitVector.getZ());
         itemEntity.setDefaultPickupDelay();
         world.addEntity(itemEntity);
-        Networking.sendToClientsAround(new SolidifierPoppedPacket(this.getWorld().func_234923_W_(), getSpitVector(), getNozzleLocation()), Objects.requireNonNull(Objects.requireNonNull(world.getServer()).getWorld(world.func_234923_W_())), pos );
+        MachineUpdateQueue.queue(world, new SolidifierPoppedUpdate(pos));
         lastItem = itemEntity;
         return EMPTY;
     }
@@ -231,55 +406,41 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
                 getHorizontalFacing().getDirectionVec().getZ() * 0.05F);
     }
 
-    private void depleteBufferByEntry(GooEntry mapping)
-    {
-        for(GooValue v : mapping.values()) {
-            String key = v.getFluidResourceLocation();
-            fluidBuffer.put(key, fluidBuffer.get(key) - v.amount());
-        }
-    }
-
-    private boolean hasBufferedEnough(GooEntry mapping)
-    {
-        return mapping.values().stream().noneMatch(v -> !fluidBuffer.containsKey(v.getFluidResourceLocation()) || fluidBuffer.get(v.getFluidResourceLocation()) < v.amount());
-    }
-
-    private void tryDrainingSources(GooEntry mapping)
+    private boolean tryDrainingSources(SolidifierDrainPlan plan)
     {
         if (world == null) {
-            return;
+            return false;
         }
+        boolean isAnyWorkDone = false;
         for(Direction d : getValidDirections()) {
-            TileEntity t = world.getTileEntity(pos.offset(d));
-            if (t == null) {
-                continue;
-            }
-            if (!(t instanceof GooBulbTile)) {
+            IFluidHandler cap = neighbours.handler(d);
+            if (cap == null) {
                 continue;
             }
             int workLeftThisGasket = GooMod.config.gooProcessingRate();
-            GooBulbTile b = (GooBulbTile)t;
-            IFluidHandler cap = BulbFluidHandler.bulbCapability(b, d);
-            for(GooValue v : mapping.values()) {
-                workLeftThisGasket = tryDrainingFluid(workLeftThisGasket, cap, v);
+            int workThisGasket = workLeftThisGasket;
+            for (int step = 0; step < plan.size(); step++) {
+                workLeftThisGasket = tryDrainingFluid(workLeftThisGasket, cap, plan.ordinal(step), plan.fluid(step), plan.required(step));
             }
+            isAnyWorkDone |= workLeftThisGasket < workThisGasket;
         }
+        return isAnyWorkDone;
     }
 
-    private int tryDrainingFluid(int workLeftThisGasket, IFluidHandler cap, GooValue v)
+    private int tryDrainingFluid(int workLeftThisGasket, IFluidHandler cap, int ordinal, Fluid fluid, long needed)
     {
         if (workLeftThisGasket == 0) {
             return 0;
         }
         // have to ceiling here; fluid stacks are integers but values can be partial.
         // when we're short a partial unit, we just grab a full unit.
-        double absentFluid = getAbsentFluid(v.getFluidResourceLocation(), v.amount());
-        int maxDrain = (int)Math.min(Math.ceil(absentFluid), workLeftThisGasket);
-
-        FluidStack drainTarget = getDrainTarget(v, maxDrain);
-        if (drainTarget.isEmpty()) {
+        long absentFluid = needed - fluidBuffer.micros(ordinal);
+        if (absentFluid <= 0) {
             return workLeftThisGasket;
         }
+        int maxDrain = (int)Math.min(ceilMillibuckets(absentFluid), workLeftThisGasket);
+
+        FluidStack drainTarget = new FluidStack(fluid, maxDrain);
 
         // simulate
         if (cap.drain(drainTarget, IFluidHandler.FluidAction.SIMULATE).isEmpty()) {
@@ -288,31 +449,13 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
 
         FluidStack result = cap.drain(drainTarget, IFluidHandler.FluidAction.EXECUTE);
         workLeftThisGasket -= result.getAmount();
-
-        if (fluidBuffer.containsKey(v.getFluidResourceLocation())) {
-            fluidBuffer.put(v.getFluidResourceLocation(), fluidBuffer.get(v.getFluidResourceLocation()) + result.getAmount());
-        } else {
-            fluidBuffer.put(v.getFluidResourceLocation(), (double)result.getAmount());
-        }
+        fluidBuffer.addMillibuckets(ordinal, result.getAmount());
         return workLeftThisGasket;
     }
 
-    private FluidStack getDrainTarget(GooValue v, int maxDrain)
-    {
-        Fluid f = Registry.getFluid(v.getFluidResourceLocation());
-        if (f == null) {
-            return FluidStack.EMPTY;
-        }
-        return new FluidStack(f, Math.min(maxDrain, (int)Math.ceil(v.amount())));
-    }
-
-    private double getAbsentFluid(String fluidResourceLocation, double fluidAmount)
+    private static long ceilMillibuckets(long micros)
     {
-        if (!fluidBuffer.containsKey(fluidResourceLocation)) {
-            return fluidAmount;
-        }
-
-        return fluidAmount - fluidBuffer.get(fluidResourceLocation);
+        return (micros + GooComposition.MICROS_PER_MB - 1) / GooComposition.MICROS_PER_MB;
     }
 
     private static final Direction[] VALID_DIRECTIONS = new Direction[] { Direction.UP, Direction.EAST, Direction.WEST };
@@ -321,11 +464,6 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
         return VALID_DIRECTIONS;
     }
 
-    private boolean needsToDrainSources(GooEntry mapping)
-    {
-        return mapping.values().stream().anyMatch(v -> !fluidBuffer.containsKey(v.getFluidResourceLocation()) || fluidBuffer.get(v.getFluidResourceLocation()) < v.amount());
-    }
-
     private GooEntry getItemEntry(Item item)
     {
         if (world == null) {
@@ -345,6 +483,7 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
     }
 
     public void changeTargetItem(Item item) {
+        wake();
         // air is special, it means we're disabling the machine, essentially.
         // skip our returns if we're setting the target to nothing.
         if (!item.equals(Items.AIR)) {
@@ -379,7 +518,14 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
             return;
         }
 
-        Networking.sendToClientsAround(new ChangeSolidifierTargetPacket(world.func_234923_W_(), pos, targetStack, newTargetStack, changeTargetTimer), Objects.requireNonNull(Objects.requireNonNull(world.getServer()).getWorld(world.func_234923_W_())), pos);
+        long timerEnd = changeTargetTimer > 0 ? world.getGameTime() + changeTargetTimer : 0;
+        if (target == sentTarget && newTarget == sentNewTarget && timerEnd == sentTimerEnd) {
+            return;
+        }
+        sentTarget = target;
+        sentNewTarget = newTarget;
+        sentTimerEnd = timerEnd;
+        MachineUpdateQueue.queue(world, new SolidifierTargetUpdate(pos, target, newTarget, changeTargetTimer));
     }
 
     private void changeTarget(Item item)
@@ -406,8 +552,12 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
     @Override
     public CompoundNBT write(CompoundNBT tag)
     {
-        tag.put("goo", serializeGoo());
+        tag.put("goo", fluidBuffer.serialize());
         tag.put("items", serializeItems());
+        tag.putBoolean("is_doing_stuff", activity.isActive());
+        if (!outputBuffer.isEmpty()) {
+            tag.put("output", outputBuffer.write(new CompoundNBT()));
+        }
         return super.write(tag);
     }
 
@@ -415,8 +565,10 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
     public void read(BlockState state, CompoundNBT tag)
     {
         super.read(state, tag);
-        deserializeGoo(tag);
+        fluidBuffer.deserialize(tag.getCompound("goo"));
         deserializeItems(tag);
+        activity.set(tag.getBoolean("is_doing_stuff"));
+        outputBuffer = tag.contains("output") ? ItemStack.read(tag.getCompound("output")) : EMPTY;
     }
 
     @Override
@@ -425,30 +577,6 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
         return this.write(new CompoundNBT());
     }
 
-    private CompoundNBT serializeGoo()  {
-        CompoundNBT tag = new CompoundNBT();
-        tag.putInt("count", fluidBuffer.size());
-        int index = 0;
-        for(Map.Entry<String, Double> e : fluidBuffer.entrySet()) {
-            CompoundNBT gooTag = new CompoundNBT();
-            gooTag.putString("key", e.getKey());
-            gooTag.putDouble("value", e.getValue());
-            tag.put("goo" + index, gooTag);
-            index++;
-        }
-        return tag;
-    }
-
-    private void deserializeGoo(CompoundNBT tag) {
-        int size = tag.getInt("count");
-        for(int i = 0; i < size; i++) {
-            CompoundNBT gooTag = tag.getCompound("goo" + i);
-            String key = gooTag.getString("key");
-            double value = gooTag.getDouble("value");
-            fluidBuffer.put(key, value);
-        }
-    }
-
     private static Map<String, Double> deserializeGooForDisplay(CompoundNBT tag)
     {
         Map<String, Double> unsorted = new HashMap<>();
@@ -522,7 +650,7 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
                 }
                 String decimalValue = " " + NumberFormat.getNumberInstance(Locale.ROOT).format(v.getValue()) + " mB";
                 String key = v.getKey();
-                String fluidTranslationKey = Registry.getFluidTranslationKey(key);
+                String fluidTranslationKey = GooFluidIndex.translationKey(key);
                 if (fluidTranslationKey == null) {
                     continue;
                 }
@@ -570,13 +698,36 @@ public class SolidifierTile extends TileEntity implements ITickableTileEntity, C
     }
 
     @Override
-    public void updateSolidifierTarget(ItemStack target, ItemStack newTarget, int changeTargetTimer)
+    public void updateSolidifierTarget(Item target, Item newTarget, int changeTargetTimer)
     {
-        this.target = target.getItem();
-        this.targetStack = target;
-        this.newTarget = newTarget.getItem();
-        this.newTargetStack = newTarget;
+        this.target = target;
+        this.targetStack = EntryHelper.getSingleton(target);
+        this.newTarget = newTarget;
+        this.newTargetStack = EntryHelper.getSingleton(newTarget);
         this.changeTargetTimer = changeTargetTimer;
+        wake();
+    }
+
+    public boolean isActive()
+    {
+        return activity.isActive();
+    }
+
+    @Override
+    public void updateActivity(boolean isActive)
+    {
+        activity.set(isActive);
+    }
+
+    @Override
+    public void onPopped()
+    {
+        if (world == null) {
+            return;
+        }
+        Vector3d nozzle = getNozzleLocation();
+        Vector3d vector = getSpitVector();
+        world.addParticle(ParticleTypes.SMOKE, nozzle.x, nozzle.y, nozzle.z, vector.x, vector.y, vector.z);
     }
 
     public boolean shouldFlashTargetItem()